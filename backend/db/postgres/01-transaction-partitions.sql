@@ -0,0 +1,68 @@
+-- transaction 테이블을 사용자/기간 기준으로 파티션해서 미리 생성 (PostgreSQL 15)
+--
+-- docker-compose의 db 컨테이너가 처음 뜰 때 /docker-entrypoint-initdb.d에서 한 번 실행된다.
+-- 앱(postgres 프로필)은 ddl-auto=update라서 이미 있는 테이블은 그대로 쓰고 나머지 테이블만 만든다.
+--
+--   transaction
+--   └─ HASH(user_id) 8개        → 한 사용자의 거래는 항상 같은 파티션
+--      └─ RANGE(period_ym) 연도별 + default → 기간 조회 시 해당 연도만 읽음
+--
+-- 파티션 테이블의 PK / UNIQUE에는 파티션 키가 들어가야 하므로
+--   PK     = (user_id, period_ym, id)
+--   UNIQUE = (user_id, period_ym, dedup_key)  (dedup_key에 결제 시각이 들어 있어 같은 키는 항상 같은 달,
+--            시각 없는 작업 id 기준 키는 저장 전에 앱이 조회해서 막음)
+-- id는 transaction_seq 시퀀스 (앱이 500개씩 미리 받아 batch insert, SQL로 직접 넣을 때는 기본값 사용)
+\set ON_ERROR_STOP on
+
+CREATE SEQUENCE transaction_seq START WITH 1 INCREMENT BY 500;
+
+CREATE TABLE transaction (
+    id             bigint       NOT NULL DEFAULT nextval('transaction_seq'),
+    user_id        varchar(64)  NOT NULL,
+    month          varchar(255),
+    period_ym      integer      NOT NULL,
+    datetime       timestamp(6),
+    amount         integer,
+    merchant       varchar(255),
+    payment_method varchar(255),
+    category       varchar(255),
+    raw_text_hash  varchar(64),
+    dedup_key      varchar(64),
+    created_at     timestamp(6) DEFAULT localtimestamp,
+    PRIMARY KEY (user_id, period_ym, id),
+    CONSTRAINT uk_transaction_user_dedup_key UNIQUE (user_id, period_ym, dedup_key)
+) PARTITION BY HASH (user_id);
+
+-- 사용자 해시 파티션 8개 × (2020~2030 연도별 + default)
+DO $$
+DECLARE
+    buckets  CONSTANT int := 8;
+    first_yr CONSTANT int := 2020;
+    last_yr  CONSTANT int := 2030;
+    b  int;
+    yr int;
+BEGIN
+    FOR b IN 0 .. buckets - 1 LOOP
+        EXECUTE format(
+            'CREATE TABLE transaction_u%s PARTITION OF transaction
+                 FOR VALUES WITH (MODULUS %s, REMAINDER %s) PARTITION BY RANGE (period_ym)',
+            b, buckets, b);
+
+        FOR yr IN first_yr .. last_yr LOOP
+            EXECUTE format(
+                'CREATE TABLE transaction_u%s_%s PARTITION OF transaction_u%s
+                     FOR VALUES FROM (%s) TO (%s)',
+                b, yr, b, yr * 100 + 1, (yr + 1) * 100 + 1);
+        END LOOP;
+
+        EXECUTE format('CREATE TABLE transaction_u%s_default PARTITION OF transaction_u%s DEFAULT', b, b);
+    END LOOP;
+END $$;
+
+-- 엔티티(@Table)와 같은 이름의 인덱스 (부모에 만들면 모든 파티션에 생성됨)
+CREATE INDEX idx_transaction_user_datetime_id          ON transaction (user_id, datetime, id);
+CREATE INDEX idx_transaction_user_period_datetime_id   ON transaction (user_id, period_ym, datetime, id);
+CREATE INDEX idx_transaction_user_period_category      ON transaction (user_id, period_ym, category);
+CREATE INDEX idx_transaction_user_period_merchant      ON transaction (user_id, period_ym, merchant);
+CREATE INDEX idx_transaction_user_category_datetime_id ON transaction (user_id, category, datetime, id);
+CREATE INDEX idx_transaction_user_payment_datetime_id  ON transaction (user_id, payment_method, datetime, id);
@@ -0,0 +1,44 @@
+// /api/analytics 부하 테스트 (seed-transactions.sql로 수백만 건 넣은 뒤 실행)
+//
+//   SPRING_PROFILES_ACTIVE=... ./mvnw spring-boot:run   (PostgreSQL 연결)
+//   k6 run -e BASE_URL=http://localhost:8080 -e MONTHS=12 -e USERS=1000 loadtest/analytics.js
+//
+// 요청마다 seed 데이터의 사용자(user-0 ~ user-N) 중 하나로 X-User-Id를 보낸다.
+// COLD=1이면 요청마다 구간을 바꿔서 캐시 없이 DB 집계 시간만 측정한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MONTHS = Number(__ENV.MONTHS || 12);
+const COLD = __ENV.COLD === '1';
+const USERS = Number(__ENV.USERS || 1000);
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 20),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function monthOf(offset) {
+  const d = new Date();
+  d.setUTCDate(1);
+  d.setUTCMonth(d.getUTCMonth() - offset);
+  return `${d.getUTCFullYear()}-${String(d.getUTCMonth() + 1).padStart(2, '0')}`;
+}
+
+export default function () {
+  // 끝 달을 0~11개월 전 중에서 바꿔 가며 조회
+  const end = COLD ? (__VU + __ITER) % 12 : 0;
+  const from = monthOf(end + MONTHS - 1);
+  const to = monthOf(end);
+  const user = `user-${Math.floor(Math.random() * USERS)}`;
+  const res = http.get(`${BASE_URL}/api/analytics?from=${from}&to=${to}`, {
+    headers: { 'X-User-Id': user },
+  });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
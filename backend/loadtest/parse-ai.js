@@ -0,0 +1,38 @@
+// 느린 가짜 LLM을 붙여 플랫폼 스레드 / 가상 스레드 모드의 처리량과 p99를 비교하는 k6 스크립트
+//
+// 1) 플랫폼 스레드 (Tomcat 기본 200 스레드)
+//    LLM_STUB_DELAY_MS=1500 PARSER_TIERED_ENABLED=false SPRING_PROFILES_ACTIVE=llm-stub ./mvnw spring-boot:run
+// 2) 가상 스레드 (Java 21)
+//    LLM_STUB_DELAY_MS=1500 PARSER_TIERED_ENABLED=false SPRING_PROFILES_ACTIVE=llm-stub,vthreads ./mvnw spring-boot:run
+//
+//    k6 run -e BASE_URL=http://localhost:8080 -e VUS=500 loadtest/parse-ai.js
+//
+// 결과의 http_reqs (처리량)과 http_req_duration p(99)를 두 모드에서 비교한다.
+// 텍스트마다 번호를 붙여 AI 파싱 캐시에 걸리지 않게 한다.
+// 이 문구는 규칙 파서만으로 끝나므로 PARSER_TIERED_ENABLED=false로 매번 LLM을 부르게 한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ENDPOINT = __ENV.ENDPOINT || '/api/ocr/parse-ai';
+
+export const options = {
+  scenarios: {
+    steady: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 300),
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const body = JSON.stringify({
+    rawText: `[카카오페이] 스타벅스 ${__VU}-${__ITER} 4,500원 결제 완료`,
+  });
+  const res = http.post(`${BASE_URL}${ENDPOINT}`, body, {
+    headers: { 'Content-Type': 'application/json' },
+  });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,28 @@
+-- /api/analytics 벤치마크용 가짜 거래 데이터 (PostgreSQL, docker-compose의 db)
+--
+-- 앱을 한 번 띄워서 테이블/인덱스를 만든 뒤:
+--   psql -h localhost -U mmuser -d mmdb -v rows=3000000 -v users=1000 -f loadtest/seed-transactions.sql
+--
+-- 사용자 users명(user-0 ~ user-N, 기본 1000명)과 최근 24개월에 고르게 분포,
+-- 가맹점 2,000곳 / 카테고리 8개 / 결제수단 4개
+\set ON_ERROR_STOP on
+\if :{?users}
+\else
+\set users 1000
+\endif
+
+INSERT INTO transaction (user_id, month, period_ym, datetime, amount, merchant, payment_method, category)
+SELECT 'user-' || (random() * (:users - 1))::int,
+       to_char(d, 'YYYY-MM'),
+       (extract(year FROM d) * 100 + extract(month FROM d))::int,
+       d,
+       (100 + random() * 99900)::int,
+       'merchant-' || (random() * 1999)::int,
+       (ARRAY['KakaoPay', 'NaverPay', 'Card', 'Toss'])[1 + (random() * 3)::int],
+       (ARRAY['식비', '카페/간식', '교통', '쇼핑', '문화', '의료', '통신', '기타'])[1 + (random() * 7)::int]
+FROM (
+    SELECT now() - (random() * interval '730 days') AS d
+    FROM generate_series(1, :rows)
+) s;
+
+ANALYZE transaction;
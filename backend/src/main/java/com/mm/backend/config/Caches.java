@@ -0,0 +1,26 @@
+package com.mm.backend.config;
+
+import com.mm.backend.entity.Periods;
+
+/**
+ * 캐시 이름 / 키.
+ * 키는 "사용자:yyyyMM" (월 문자열 형식이 달라도 같은 키가 되도록 period로 정규화).
+ * 구현은 spring.cache.type으로 고름 (기본 caffeine, redis 프로필에서는 redis).
+ */
+public final class Caches {
+
+    public static final String BUDGETS = "budgets";                        // 월 예산
+    public static final String MONTH_SUMMARIES = "monthSummaries";         // 월 합계 / 카테고리 / 결제수단별
+    public static final String MONTH_TRANSACTIONS = "monthTransactions";   // 월 거래 목록
+
+    private Caches() {
+    }
+
+    public static String key(String userId, String month) {
+        return key(userId, Periods.parse(month));
+    }
+
+    public static String key(String userId, int period) {
+        return userId + ":" + period;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mm.backend.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청마다 찍히는 로그를 n건 중 1건만 남기기 (WARN 이상은 샘플링하지 말 것).
+ * every <= 1이면 전부 남김.
+ */
+public final class LogSampler {
+
+    private final long every;
+    private final AtomicLong seq = new AtomicLong();
+
+    public LogSampler(long every) {
+        this.every = every;
+    }
+
+    public boolean sample() {
+        return every <= 1 || seq.getAndIncrement() % every == 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mm.backend.config;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 월 거래 목록 캐시(Caffeine)는 항목 수가 아니라 거래 행 수로 상한을 둠.
+ * 항목 하나가 한 달치 List<Transaction> 전체라서 spring.cache.caffeine.spec의 maximumSize로는 메모리가 묶이지 않음.
+ * (redis 프로필에서는 CaffeineCacheManager가 없으므로 적용되지 않음)
+ */
+@Component
+public class MonthTransactionsCacheCustomizer implements CacheManagerCustomizer<CaffeineCacheManager> {
+
+    private final long maxRows;
+    private final Duration ttl;
+
+    public MonthTransactionsCacheCustomizer(@Value("${cache.month-transactions.max-rows:200000}") long maxRows,
+                                            @Value("${cache.month-transactions.ttl-minutes:30}") long ttlMinutes) {
+        this.maxRows = maxRows;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    public void customize(CaffeineCacheManager cacheManager) {
+        cacheManager.registerCustomCache(Caches.MONTH_TRANSACTIONS, Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Object key, Object value) -> value instanceof Collection<?> rows ? rows.size() + 1 : 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
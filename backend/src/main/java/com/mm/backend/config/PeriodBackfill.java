@@ -0,0 +1,60 @@
+package com.mm.backend.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mm.backend.entity.Budget;
+import com.mm.backend.repository.BudgetRepository;
+import com.mm.backend.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * period(yyyyMM) 컬럼 추가 전에 저장된 행 채우기.
+ * - Transaction: datetime에서 계산 (UPDATE 한 번)
+ * - Budget: month 문자열에서 계산
+ * 이미 채워진 행은 건드리지 않으므로 매번 실행해도 안전하다.
+ */
+@Slf4j
+@Component
+public class PeriodBackfill implements ApplicationRunner {
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public PeriodBackfill(TransactionRepository transactionRepository,
+                          BudgetRepository budgetRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${schema.period-backfill.enabled:true}") boolean enabled) {
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int transactions = transactionRepository.backfillPeriodFromDatetime();
+
+            List<Budget> budgets = budgetRepository.findByPeriodIsNull();
+            for (Budget b : budgets) {
+                b.syncPeriod();
+            }
+            budgetRepository.saveAll(budgets);
+
+            if (transactions > 0 || !budgets.isEmpty()) {
+                log.info("period 컬럼 채움: transaction {}건, budget {}건", transactions, budgets.size());
+            }
+        });
+    }
+}
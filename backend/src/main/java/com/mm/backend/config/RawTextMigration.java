@@ -0,0 +1,69 @@
+package com.mm.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mm.backend.service.RawTextStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 예전 transaction.raw_text 컬럼에 남아 있는 원문을 RawTextBlob으로 옮김.
+ * 옮긴 행은 raw_text_hash를 채우고 raw_text를 비움 (컬럼이 없으면 아무것도 안 함).
+ */
+@Slf4j
+@Component
+public class RawTextMigration implements ApplicationRunner {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RawTextStore rawTextStore;
+    private final boolean enabled;
+
+    public RawTextMigration(JdbcTemplate jdbcTemplate,
+                            RawTextStore rawTextStore,
+                            @Value("${raw-text.migrate-legacy-column:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rawTextStore = rawTextStore;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        int moved = 0;
+        try {
+            while (true) {
+                Map<Long, String> chunk = new LinkedHashMap<>();
+                jdbcTemplate.query("select id, raw_text from transaction where raw_text is not null order by id limit " + CHUNK_SIZE,
+                        rs -> {
+                            chunk.put(rs.getLong(1), rs.getString(2));
+                        });
+                if (chunk.isEmpty()) break;
+
+                Map<String, String> hashes = rawTextStore.storeAll(chunk.values());
+                List<Object[]> updates = chunk.entrySet().stream()
+                        .map(e -> new Object[]{hashes.get(e.getValue()), e.getKey()})
+                        .toList();
+                jdbcTemplate.batchUpdate("update transaction set raw_text_hash = ?, raw_text = null where id = ?", updates);
+                moved += chunk.size();
+            }
+        } catch (BadSqlGrammarException e) {
+            return; // raw_text 컬럼 없음 (새 DB)
+        }
+
+        if (moved > 0) {
+            log.info("transaction.raw_text → raw_text_blob 이동: {}건", moved);
+        }
+    }
+}
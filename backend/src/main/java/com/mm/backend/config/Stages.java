@@ -0,0 +1,22 @@
+package com.mm.backend.config;
+
+/**
+ * 처리 단계별 Observation 이름 (타이머 + span).
+ * 모두 "mm." 으로 시작 → management.metrics.distribution.*.mm 설정으로 p50/p95/p99 히스토그램.
+ */
+public final class Stages {
+
+    private Stages() {
+    }
+
+    public static final String IMAGE_DECODE = "mm.ocr.decode";
+    public static final String OCR_QUEUE = "mm.ocr.queue";
+    public static final String OCR = "mm.ocr.recognize";
+    public static final String LLM_REQUEST = "mm.llm.request";
+    public static final String LLM_JSON_PARSE = "mm.llm.json.parse";
+    public static final String RULE_FALLBACK = "mm.parse.fallback";
+    public static final String DB_SAVE = "mm.db.save";
+
+    // 카운터: 파싱이 어느 단계에서 끝났는지 (tier=rule|cache|llm|fallback)
+    public static final String PARSE_TIER = "mm.parse.tier";
+}
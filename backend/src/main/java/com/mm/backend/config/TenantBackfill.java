@@ -0,0 +1,49 @@
+package com.mm.backend.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * user_id 컬럼 추가 전에 저장된 행을 기본 사용자(Tenants.DEFAULT_USER) 소유로 채움.
+ * 이미 채워진 행은 건드리지 않으므로 매번 실행해도 안전하다.
+ */
+@Slf4j
+@Component
+public class TenantBackfill implements ApplicationRunner {
+
+    private static final List<String> TABLES = List.of("transaction", "budget", "spend_aggregate", "ingest_job");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public TenantBackfill(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${schema.tenant-backfill.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (String table : TABLES) {
+                int updated = jdbcTemplate.update("update " + table + " set user_id = ? where user_id is null", Tenants.DEFAULT_USER);
+                if (updated > 0) {
+                    log.info("user_id 컬럼 채움: {} {}건 → {}", table, updated, Tenants.DEFAULT_USER);
+                }
+            }
+        });
+    }
+}
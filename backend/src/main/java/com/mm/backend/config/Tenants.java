@@ -0,0 +1,27 @@
+package com.mm.backend.config;
+
+import java.util.regex.Pattern;
+
+/**
+ * 사용자(테넌트) 구분.
+ * 로그인 기능이 아직 없어서 요청 헤더 X-User-Id로 받고, 없으면 "default" 사용자.
+ * 모든 거래 / 예산 / 집계는 user_id로 나뉘고, PostgreSQL에서는 user_id 해시로 파티션된다.
+ */
+public final class Tenants {
+
+    public static final String HEADER = "X-User-Id";
+    public static final String DEFAULT_USER = "default";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_.@-]{1,64}");
+
+    private Tenants() {
+    }
+
+    /** 형식 검사 후 그대로 반환 (잘못된 값이면 IllegalArgumentException) */
+    public static String check(String userId) {
+        if (userId == null || !VALID.matcher(userId).matches()) {
+            throw new IllegalArgumentException("Invalid " + HEADER + ": " + userId);
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mm.backend.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mm.backend.entity.Transaction;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * transaction id를 IDENTITY로 만들던 기존 DB: 새로 생긴 transaction_seq가 1부터 시작해서 기존 id와 겹침.
+ * 시작 시 시퀀스 값이 max(id)보다 작으면 max(id) 뒤로 옮김 (앞으로만 옮기므로 다른 인스턴스가 받아 둔 범위와 겹치지 않음).
+ */
+@Slf4j
+@Component
+public class TransactionSequenceSync implements ApplicationRunner {
+
+    private static final String SEQUENCE = "transaction_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+
+    public TransactionSequenceSync(JdbcTemplate jdbcTemplate,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${schema.transaction-seq-sync.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from transaction", Long.class);
+        if (maxId == null) return;
+
+        // nextval 문법은 DB마다 달라서 Hibernate dialect에서 가져옴 (한 번 받은 값은 버림)
+        String nextValSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE);
+        Long next = jdbcTemplate.queryForObject(nextValSql, Long.class);
+        if (next == null || next >= maxId) return;
+
+        // pooled optimizer는 받은 값 v로 (v - ALLOCATION_SIZE, v] 범위를 쓰므로 max(id) + ALLOCATION_SIZE + 1부터
+        long restart = maxId + Transaction.ALLOCATION_SIZE + 1;
+        jdbcTemplate.execute("alter sequence " + SEQUENCE + " restart with " + restart);
+        log.info("{} 재시작: {} → {} (기존 max(id)={})", SEQUENCE, next, restart, maxId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.mm.backend.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 작업용 스레드 생성.
+ * spring.threads.virtual.enabled=true (vthreads 프로필, Java 21 필요)이면
+ * 블로킹 I/O 작업(LLM 호출, DB 저장)은 가상 스레드에서 실행한다.
+ * OCR 같은 CPU 작업은 항상 고정 개수의 플랫폼 스레드를 쓴다.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** 블로킹 I/O 작업용 - 동시 실행 수 제한 없음 (가상 스레드 모드가 아니면 threads개 고정) */
+    public Executor ioExecutor(String prefix, int threads) {
+        if (virtual) return new VirtualThreadTaskExecutor(prefix);
+        return Executors.newFixedThreadPool(threads, platform(prefix));
+    }
+
+    /** 블로킹 I/O 작업용 - 동시 실행 수를 threads개로 제한 */
+    public ExecutorService boundedIoExecutor(String prefix, int threads) {
+        ThreadFactory factory = virtual
+                ? new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory()
+                : platform(prefix);
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /** CPU 작업용 - 항상 플랫폼 스레드 */
+    public ExecutorService cpuExecutor(String prefix, int threads) {
+        return Executors.newFixedThreadPool(threads, platform(prefix));
+    }
+
+    public static ThreadFactory platform(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public static void shutdown(Executor executor) {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mm.backend.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mm.backend.config.Tenants;
+import com.mm.backend.service.AnalyticsService;
+import com.mm.backend.service.AnalyticsService.AnalyticsReport;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // 기간 소비 분석 (카테고리 / 가맹점 / 결제수단별 합계 + 월별, 일별 곡선)
+    @GetMapping
+    public AnalyticsReport getReport(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                     @RequestParam String from,
+                                     @RequestParam String to) {
+        return analyticsService.getReport(Tenants.check(userId), from, to);
+    }
+}
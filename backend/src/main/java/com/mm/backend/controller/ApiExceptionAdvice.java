@@ -0,0 +1,21 @@
+package com.mm.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 모든 컨트롤러 공통 예외 처리.
+ * 잘못된 X-User-Id (Tenants.check), 월 형식 (Periods.parse), 조회 범위, cursor 등
+ * 요청 값 오류는 IllegalArgumentException으로 던지고 여기서 400으로 바꾼다.
+ * (컨트롤러별 @ExceptionHandler가 있으면 그쪽이 먼저 적용됨)
+ */
+@RestControllerAdvice
+public class ApiExceptionAdvice {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
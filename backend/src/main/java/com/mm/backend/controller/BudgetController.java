@@ -1,11 +1,21 @@
 package com.mm.backend.controller;
 
+import com.mm.backend.config.Tenants;
 import com.mm.backend.service.BudgetService;
 import com.mm.backend.service.BudgetService.BudgetStatus;
+import com.mm.backend.service.BudgetService.SpendBreakdown;
+import com.mm.backend.service.BudgetStreamService;
+import com.mm.backend.service.MonthCacheService;
+import com.mm.backend.service.SpendAggregateService;
+import com.mm.backend.service.SpendAggregateService.VerifyResult;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,18 +23,62 @@ import org.springframework.web.bind.annotation.*;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final SpendAggregateService spendAggregateService;
+    private final BudgetStreamService budgetStreamService;
+    private final MonthCacheService monthCacheService;
 
     // 1) 월 예산 설정
     @PostMapping("/set")
-    public BudgetSetResponse setBudget(@RequestBody BudgetSetRequest request) {
-        var budget = budgetService.setBudget(request.getMonth(), request.getAmount());
+    public BudgetSetResponse setBudget(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                       @RequestBody BudgetSetRequest request) {
+        var budget = budgetService.setBudget(Tenants.check(userId), request.getMonth(), request.getAmount());
         return new BudgetSetResponse(budget.getMonth(), budget.getAmount());
     }
 
     // 2) 월 예산 상태 조회
     @GetMapping("/status")
-    public BudgetStatus getStatus(@RequestParam String month) {
-        return budgetService.getBudgetStatus(month);
+    public BudgetStatus getStatus(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                  @RequestParam String month) {
+        return budgetService.getBudgetStatus(Tenants.check(userId), month);
+    }
+
+    // 2-1) 월 예산 상태 실시간 구독 (SSE, 거래 저장/예산 변경 시 budget-status 이벤트)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                   @RequestParam String month) {
+        return budgetStreamService.subscribe(Tenants.check(userId), month);
+    }
+
+    // 3) 월 카테고리 / 결제수단별 소비 내역
+    @GetMapping("/breakdown")
+    public SpendBreakdown getBreakdown(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                       @RequestParam String month) {
+        return budgetService.getBreakdown(Tenants.check(userId), month);
+    }
+
+    // 4) 월 집계 재계산 (month 생략 시 그 사용자의 전체 월)
+    @PostMapping("/aggregate/rebuild")
+    public List<String> rebuildAggregates(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                          @RequestParam(required = false) String month) {
+        Tenants.check(userId);
+        if (month == null) {
+            return spendAggregateService.rebuildAll(userId);
+        }
+        spendAggregateService.rebuild(userId, month);
+        return List.of(month);
+    }
+
+    // 5) 월 집계 검증 (원본 거래 합산과 비교)
+    @GetMapping("/aggregate/verify")
+    public VerifyResult verifyAggregates(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                         @RequestParam String month) {
+        return spendAggregateService.verify(Tenants.check(userId), month);
+    }
+
+    // 6) 예산 / 월 합계 / 월 거래 목록 캐시 적중률
+    @GetMapping("/cache/stats")
+    public List<MonthCacheService.Stats> cacheStats() {
+        return monthCacheService.getStats();
     }
 
     // ==== 요청/응답 DTO ====
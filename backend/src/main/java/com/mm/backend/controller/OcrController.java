@@ -1,40 +1,90 @@
 package com.mm.backend.controller;
 
-import java.time.LocalDateTime;
-import java.time.YearMonth;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.mm.backend.config.Tenants;
 import com.mm.backend.entity.Transaction;
 import com.mm.backend.service.AiParserService;
+import com.mm.backend.service.BatchIngestService;
+import com.mm.backend.service.BatchIngestService.BatchItem;
+import com.mm.backend.service.BatchTooLargeException;
+import com.mm.backend.service.ImageDuplicateIndex;
+import com.mm.backend.service.ImageTooLargeException;
+import com.mm.backend.service.IngestJobService;
+import com.mm.backend.service.IngestJobService.JobStatus;
+import com.mm.backend.service.OcrBusyException;
+import com.mm.backend.service.OcrEnginePool;
 import com.mm.backend.service.OcrService;
+import com.mm.backend.service.ParseResultCache;
+import com.mm.backend.service.RuleParser;
 import com.mm.backend.service.TransactionService;
 import com.mm.backend.service.TransactionService.TransactionRequest;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/ocr")
 public class OcrController {
 
+    private static final long BATCH_TIMEOUT_MS = 10 * 60 * 1000L;
+    private static final long STREAM_TIMEOUT_MS = 2 * 60 * 1000L;
+
     private final OcrService ocrService;
     private final AiParserService aiParserService;
     private final TransactionService transactionService;
+    private final OcrEnginePool ocrEnginePool;
+    private final BatchIngestService batchIngestService;
+    private final ParseResultCache parseResultCache;
+    private final RuleParser ruleParser;
+    private final IngestJobService ingestJobService;
+    private final ImageDuplicateIndex imageDuplicateIndex;
 
     public OcrController(OcrService ocrService,
                          AiParserService aiParserService,
-                         TransactionService transactionService) {
+                         TransactionService transactionService,
+                         OcrEnginePool ocrEnginePool,
+                         BatchIngestService batchIngestService,
+                         ParseResultCache parseResultCache,
+                         RuleParser ruleParser,
+                         IngestJobService ingestJobService,
+                         ImageDuplicateIndex imageDuplicateIndex) {
         this.ocrService = ocrService;
         this.aiParserService = aiParserService;
         this.transactionService = transactionService;
+        this.ocrEnginePool = ocrEnginePool;
+        this.batchIngestService = batchIngestService;
+        this.parseResultCache = parseResultCache;
+        this.ruleParser = ruleParser;
+        this.ingestJobService = ingestJobService;
+        this.imageDuplicateIndex = imageDuplicateIndex;
     }
 
     /** 1) 이미지 → 규칙 기반 분석 미리보기 */
@@ -45,8 +95,9 @@ public class OcrController {
 
     /** 2) 이미지 규칙 기반 분석 + DB 저장 */
     @PostMapping(value = "/analyze-and-save", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public List<Transaction> analyzeAndSave(@RequestPart("file") MultipartFile file) {
-        return ocrService.analyzeAndSave(file);
+    public List<Transaction> analyzeAndSave(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                            @RequestPart("file") MultipartFile file) {
+        return ocrService.analyzeAndSave(Tenants.check(userId), file);
     }
 
     /** 3) 텍스트 → 규칙 기반 파싱 */
@@ -55,17 +106,68 @@ public class OcrController {
         return analyzeTextLocally(request.getRawText());
     }
 
-    /** 4) 텍스트 → AI 파싱 (한 건) */
+    /** 4) 텍스트 → AI 파싱 (한 건, GPT 응답 대기 중 요청 스레드 반환) */
     @PostMapping("/parse-ai")
-    public TransactionRequest parseByAI(@RequestBody TextParseRequest request) throws Exception {
-        return aiParserService.parseWithAI(request.getRawText());
+    public CompletableFuture<TransactionRequest> parseByAI(@RequestBody TextParseRequest request) {
+        return aiParserService.parseWithAIAsync(request.getRawText());
     }
 
     /** 5) 텍스트 → AI 파싱 + DB 저장 */
     @PostMapping("/parse-ai-and-save")
-    public Transaction parseByAIAndSave(@RequestBody TextParseRequest request) throws Exception {
-        TransactionRequest parsed = aiParserService.parseWithAI(request.getRawText());
-        return transactionService.addTransaction(parsed);
+    public CompletableFuture<Transaction> parseByAIAndSave(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                           @RequestBody TextParseRequest request) {
+        String owner = Tenants.check(userId);
+        return aiParserService.parseWithAIAsync(request.getRawText())
+                .thenApply(req -> transactionService.addTransaction(owner, req));
+    }
+
+    /**
+     * 16) 텍스트 → AI 파싱 (SSE 스트리밍)
+     *     field 이벤트: GPT 응답에서 필드가 완성되는 대로 {name, value}, 마지막에 result 이벤트 (전체 결과)
+     */
+    @PostMapping(value = "/parse-ai/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter parseByAIStream(@RequestBody TextParseRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        streamResult(emitter, aiParserService.parseWithAIStreaming(request.getRawText(), fieldSender(emitter)));
+        return emitter;
+    }
+
+    /** 17) 이미지 → OCR → AI 파싱 (SSE 스트리밍 미리보기, 이벤트는 16과 같음) */
+    @PostMapping(value = "/preview-ai/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter previewImageByAIStream(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                             @RequestPart("file") MultipartFile file) throws IOException {
+        String owner = Tenants.check(userId);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        streamResult(emitter, ocrService.analyzeCaptureWithAIStreaming(owner, file, fieldSender(emitter)));
+        return emitter;
+    }
+
+    // 완성된 필드 전송 (클라이언트가 끊겨도 파싱은 끝까지 진행 → 결과는 캐시에 남음)
+    private static BiConsumer<String, JsonNode> fieldSender(SseEmitter emitter) {
+        return (name, value) -> {
+            try {
+                emitter.send(SseEmitter.event().name("field").data(new PartialField(name, value), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("stream client gone: {}", e.getMessage());
+            }
+        };
+    }
+
+    private static void streamResult(SseEmitter emitter, CompletableFuture<TransactionRequest> result) {
+        result.whenComplete((req, error) -> {
+            try {
+                if (error != null) {
+                    log.warn("AI stream analyze failed", error);
+                    emitter.send(SseEmitter.event().name("error").data("analyze failed"));
+                } else {
+                    emitter.send(SseEmitter.event().name("result").data(req, MediaType.APPLICATION_JSON));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
     }
 
     /** === 요청 DTO === */
@@ -75,78 +177,163 @@ public class OcrController {
         public void setRawText(String rawText) { this.rawText = rawText; }
     }
 
-    /** ---- 아래는 규칙 기반 파서 (parse-text 전용) ---- */
+    /** 스트리밍 중 먼저 보내는 필드 하나 (amount, merchant, ...) */
+    @Getter
+    @AllArgsConstructor
+    public static class PartialField {
+        private String name;
+        private JsonNode value;
+    }
+
+    /** ---- 규칙 기반 파서 (parse-text 전용, 공용 RuleParser 사용) ---- */
 
     private List<TransactionRequest> analyzeTextLocally(String rawText) {
-        List<TransactionRequest> list = new ArrayList<>();
-        TransactionRequest req = new TransactionRequest();
-        req.setRawText(rawText);
-
-        YearMonth ym = YearMonth.now();
-        req.setMonth(ym.toString());
-        req.setDatetime(LocalDateTime.now());
-
-        req.setAmount(extractAmount(rawText));
-        String merchant = extractMerchant(rawText);
-        req.setMerchant(merchant);
-        req.setPaymentMethod(detectPaymentMethod(rawText));
-        req.setCategory(guessCategory(merchant, rawText));
-
-        list.add(req);
-        return list;
-    }
-
-    private Integer extractAmount(String text) {
-        Matcher m = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원").matcher(text);
-        return m.find() ? Integer.parseInt(m.group(1).replace(",", "")) : null;
-    }
-    private String extractMerchant(String text) {
-        String cleaned = text.replaceAll("\\[[^]]+\\]", "").trim();
-        int idx = cleaned.indexOf("원");
-        if (idx > 0) cleaned = cleaned.substring(0, idx);
-        for (String token : cleaned.split("\\s+")) {
-            if (token.contains("카카오") || token.contains("네이버") || token.contains("결제") || token.matches(".*\\d.*"))
-                continue;
-            return token;
-        }
-        return "Unknown";
-    }
-    private String detectPaymentMethod(String text) {
-        if (text.contains("카카오페이")) return "KakaoPay";
-        if (text.contains("네이버페이")) return "NaverPay";
-        if (text.contains("삼성페이")) return "SamsungPay";
-        if (text.contains("카드")) return "Card";
-        return "Unknown";
-    }
-    private String guessCategory(String merchant, String text) {
-        String base = merchant + " " + text;
-        if (base.contains("스타벅스") || base.contains("커피")  || base.contains("카페")) return "카페/간식";
-        if (base.contains("편의점")   || base.contains("마트") || base.contains("식품")) return "식비/장보기";
-        if (base.contains("택시")     || base.contains("버스") || base.contains("지하철")) return "교통";
-        if (base.contains("배달")     || base.contains("요기요")|| base.contains("배달의민족")) return "배달/외식";
-        return "기타";
+        return ruleParser.parseAll(rawText);
     }
 
     /** 6) 이미지 → OCR → AI 파싱 (미리보기) */
     @PostMapping(value = "/preview-ai", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public TransactionRequest previewImageByAI(@RequestPart("file") MultipartFile file) {
+    public CompletableFuture<TransactionRequest> previewImageByAI(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                                  @RequestPart("file") MultipartFile file) {
+        String owner = Tenants.check(userId);
         try {
-            return ocrService.analyzeCaptureWithAI(file);
+            return ocrService.analyzeCaptureWithAIAsync(owner, file)
+                    .exceptionally(OcrController::rethrowCause);
+        } catch (OcrBusyException | ImageTooLargeException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            return rethrowCause(e);
         }
     }
 
     /** 7) 이미지 → OCR → AI 파싱 + DB 저장 */
     @PostMapping(value = "/analyze-ai-and-save", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public Transaction analyzeAIAndSave(@RequestPart("file") MultipartFile file) {
+    public CompletableFuture<Transaction> analyzeAIAndSave(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                           @RequestPart("file") MultipartFile file) {
+        String owner = Tenants.check(userId);
         try {
-            TransactionRequest parsed = ocrService.analyzeCaptureWithAI(file);
-            return transactionService.addTransaction(parsed);
+            return ocrService.analyzeCaptureWithAIAsync(owner, file)
+                    .thenApply(req -> transactionService.addTransaction(owner, req))
+                    .exceptionally(OcrController::rethrowCause);
+        } catch (OcrBusyException | ImageTooLargeException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            return rethrowCause(e);
+        }
+    }
+
+    // 비동기 실패는 빈 200 대신 원인 예외를 다시 던져 @ExceptionHandler가 상태 코드를 정하게 함
+    // (OCR 큐 가득 참 → 503, 이미지 초과 → 413, 그 외 → 5xx)
+    private static <T> T rethrowCause(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        log.warn("AI image analyze failed", error);
+        if (error instanceof RuntimeException e) throw e;
+        if (error instanceof Error e) throw e;
+        throw new IllegalStateException(error.getMessage(), error);
+    }
+
+    /**
+     * 8) 여러 이미지 / 텍스트 일괄 분석 + DB 저장
+     *    mode=rule(기본) | ai, 결과는 항목별 NDJSON으로 끝나는 대로 전송 (마지막 줄은 요약)
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> batch(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                     @RequestPart(value = "files", required = false) List<MultipartFile> files,
+                                                     @RequestParam(value = "texts", required = false) List<String> texts,
+                                                     @RequestParam(value = "mode", defaultValue = "rule") String mode) throws IOException {
+        Tenants.check(userId);
+
+        // multipart 내용은 요청 스레드에서 미리 읽어둠
+        List<BatchItem> items = new ArrayList<>();
+        if (files != null) {
+            for (MultipartFile file : files) {
+                items.add(new BatchItem(items.size(), file.getOriginalFilename(), file.getBytes(), null));
+            }
         }
+        if (texts != null) {
+            for (String text : texts) {
+                items.add(new BatchItem(items.size(), "text-" + items.size(), null, text));
+            }
+        }
+
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(BATCH_TIMEOUT_MS);
+        batchIngestService.ingest(userId, items, "ai".equalsIgnoreCase(mode), emitter);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * 11) 비동기 분석 + 저장 (이미지) → 202 + 작업 id, 결과는 /ingest/{id}로 조회
+     *     Idempotency-Key 헤더가 같으면 새 작업을 만들지 않고 기존 작업 반환
+     */
+    @PostMapping(value = "/ingest", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobStatus> ingestImage(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                 @RequestPart("file") MultipartFile file,
+                                                 @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws IOException {
+        return ResponseEntity.accepted().body(ingestJobService.submitImage(Tenants.check(userId), file.getBytes(), idempotencyKey));
+    }
+
+    /** 12) 비동기 분석 + 저장 (텍스트) */
+    @PostMapping("/ingest-text")
+    public ResponseEntity<JobStatus> ingestText(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                @RequestBody TextParseRequest request,
+                                                @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(ingestJobService.submitText(Tenants.check(userId), request.getRawText(), idempotencyKey));
+    }
+
+    /** 13) 비동기 작업 상태 (PENDING / RUNNING / DONE / FAILED) */
+    @GetMapping("/ingest/{id}")
+    public ResponseEntity<JobStatus> ingestStatus(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                  @PathVariable String id) {
+        return ingestJobService.getStatus(Tenants.check(userId), id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** 9) OCR 엔진 풀 상태 (큐 대기 시간 vs OCR 시간) */
+    @GetMapping("/stats")
+    public OcrEnginePool.Stats stats() {
+        return ocrEnginePool.getStats();
+    }
+
+    /** 10) AI 파싱 결과 캐시 적중률 */
+    @GetMapping("/cache/stats")
+    public ParseResultCache.Stats cacheStats() {
+        return parseResultCache.getStats();
+    }
+
+    /** 14) 중복 캡처 인덱스 적중률 (OCR / GPT를 건너뛴 업로드) */
+    @GetMapping("/duplicates/stats")
+    public ImageDuplicateIndex.Stats duplicateStats() {
+        return imageDuplicateIndex.getStats();
+    }
+
+    /** 15) 단계별 파싱 건수 (규칙 / 캐시 / GPT / fallback, GPT를 부르지 않은 비율) */
+    @GetMapping("/parser/stats")
+    public AiParserService.TierStats parserStats() {
+        return aiParserService.getTierStats();
+    }
+
+    /** OCR 큐가 가득 찼을 때 → 503 + Retry-After */
+    @ExceptionHandler(OcrBusyException.class)
+    public ResponseEntity<String> handleOcrBusy(OcrBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    /** 이미지 용량/해상도 초과 → 413 */
+    @ExceptionHandler(ImageTooLargeException.class)
+    public ResponseEntity<String> handleImageTooLarge(ImageTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+    }
+
+    /** 일괄 분석 항목 수 초과 → 413 */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<String> handleBatchTooLarge(BatchTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
     }
 }
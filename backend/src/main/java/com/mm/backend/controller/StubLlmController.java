@@ -0,0 +1,146 @@
+package com.mm.backend.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 로컬 테스트용 가짜 OpenAI 서버 (llm-stub 프로필에서만 활성화).
+ * 단건 프롬프트("TEXT: ...")는 JSON 객체, 묶음 프롬프트("TEXT 1: ...")는 JSON 배열로 응답한다.
+ * llm.stub.delay-ms로 느린 LLM을 흉내낼 수 있다.
+ * "stream": true 요청은 같은 content를 stream-chunk-chars 글자씩 SSE(chat.completion.chunk)로 나눠 보낸다
+ * (delay-ms 후 첫 조각, 이후 조각마다 stream-chunk-delay-ms).
+ */
+@Profile("llm-stub")
+@RestController
+@RequestMapping("/stub/openai/v1")
+public class StubLlmController {
+
+    private static final Pattern BATCH_TEXT = Pattern.compile("(?m)^TEXT \\d+: ");
+    private static final Pattern AMOUNT = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${llm.stub.delay-ms:0}")
+    private long delayMs;
+
+    @Value("${llm.stub.stream-chunk-chars:4}")
+    private int streamChunkChars;
+
+    @Value("${llm.stub.stream-chunk-delay-ms:30}")
+    private long streamChunkDelayMs;
+
+    // 본문 타입이 StreamingResponseBody로 선언돼 있어야 스트리밍 처리됨 (ResponseEntity<?>면 변환기를 못 찾아 500)
+    @PostMapping("/chat/completions")
+    public ResponseEntity<StreamingResponseBody> chatCompletions(@RequestBody JsonNode request) throws Exception {
+        String content = contentFor(request);
+        if (request.path("stream").asBoolean(false)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(out -> streamChunks(out, content));
+        }
+
+        if (delayMs > 0) Thread.sleep(delayMs);
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("id", "stub-completion");
+        response.put("object", "chat.completion");
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        byte[] body = mapper.writeValueAsBytes(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(body));
+    }
+
+    private void streamChunks(OutputStream out, String content) throws IOException {
+        sleep(delayMs);
+        for (int i = 0; i < content.length(); i += streamChunkChars) {
+            ObjectNode chunk = mapper.createObjectNode();
+            chunk.put("id", "stub-completion");
+            chunk.put("object", "chat.completion.chunk");
+            ObjectNode choice = chunk.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("delta").put("content", content.substring(i, Math.min(content.length(), i + streamChunkChars)));
+
+            out.write(("data: " + mapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            sleep(streamChunkDelayMs);
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String contentFor(JsonNode request) throws Exception {
+        JsonNode messages = request.path("messages");
+        String prompt = messages.get(messages.size() - 1).path("content").asText();
+
+        String content;
+        List<String> texts = splitBatch(prompt);
+        if (texts.isEmpty()) {
+            int idx = prompt.lastIndexOf("TEXT: ");
+            content = mapper.writeValueAsString(fakeParse(idx >= 0 ? prompt.substring(idx + 6) : prompt));
+        } else {
+            ArrayNode array = mapper.createArrayNode();
+            texts.forEach(t -> array.add(fakeParse(t)));
+            content = mapper.writeValueAsString(array);
+        }
+        return content;
+    }
+
+    private List<String> splitBatch(String prompt) {
+        List<String> texts = new ArrayList<>();
+        Matcher m = BATCH_TEXT.matcher(prompt);
+        int start = -1;
+        while (m.find()) {
+            if (start >= 0) texts.add(prompt.substring(start, m.start()).trim());
+            start = m.end();
+        }
+        if (start >= 0) texts.add(prompt.substring(start).trim());
+        return texts;
+    }
+
+    private ObjectNode fakeParse(String text) {
+        ObjectNode json = mapper.createObjectNode();
+        Matcher m = AMOUNT.matcher(text);
+        json.put("amount", m.find() ? Integer.parseInt(m.group(1).replace(",", "")) : 0);
+        json.put("merchant", "STUB");
+        json.put("paymentMethod", "Unknown");
+        json.put("category", "기타");
+        json.put("month", YearMonth.now().toString());
+        json.put("datetime", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString());
+        return json;
+    }
+}
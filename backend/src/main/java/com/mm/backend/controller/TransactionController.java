@@ -1,37 +1,178 @@
 package com.mm.backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import com.mm.backend.config.Tenants;
+import com.mm.backend.entity.Periods;
 import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.TransactionRepositoryCustom.PageQuery;
+import com.mm.backend.service.StatementImportService;
+import com.mm.backend.service.TransactionExportService;
 import com.mm.backend.service.TransactionService;
+import com.mm.backend.service.TransactionService.TransactionPage;
 import com.mm.backend.service.TransactionService.TransactionRequest;
 
-import lombok.RequiredArgsConstructor;
-
 @RestController
-@RequiredArgsConstructor
 @RequestMapping("/api/transaction")
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final StatementImportService statementImportService;
+    private final TransactionExportService transactionExportService;
+    private final long importTimeoutMs;
+    private final long importMaxBytes;
+    private final long exportTimeoutMs;
+
+    public TransactionController(TransactionService transactionService,
+                                 StatementImportService statementImportService,
+                                 TransactionExportService transactionExportService,
+                                 @Value("${import.timeout-ms:1800000}") long importTimeoutMs,
+                                 @Value("${import.max-bytes:209715200}") long importMaxBytes,
+                                 @Value("${export.timeout-ms:1800000}") long exportTimeoutMs) {
+        this.transactionService = transactionService;
+        this.statementImportService = statementImportService;
+        this.transactionExportService = transactionExportService;
+        this.importTimeoutMs = importTimeoutMs;
+        this.importMaxBytes = importMaxBytes;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
 
     // 소비 내역 1건 추가
     @PostMapping("/add")
-    public Transaction addTransaction(@RequestBody TransactionRequest req) {
-        return transactionService.addTransaction(req);
+    public Transaction addTransaction(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                      @RequestBody TransactionRequest req) {
+        return transactionService.addTransaction(Tenants.check(userId), req);
     }
 
     // 특정 month의 소비 내역 목록 조회
     @GetMapping("/list")
-    public List<Transaction> getList(@RequestParam String month) {
-        return transactionService.getTransactionsByMonth(month);
+    public List<Transaction> getList(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                     @RequestParam String month) {
+        return transactionService.getTransactionsByMonth(Tenants.check(userId), month);
     }
-}
 
+    // 원본 OCR/문자 텍스트 조회 (감사/재파싱용, 보관 기간이 지났으면 404)
+    @GetMapping("/{id}/raw-text")
+    public ResponseEntity<String> getRawText(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                             @PathVariable Long id) {
+        return transactionService.getRawText(Tenants.check(userId), id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 소비 내역 페이지 조회 (최신순, cursor 기반) - rawText는 includeRawText=true일 때만
+    @GetMapping("/page")
+    public TransactionPage getPage(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                   @RequestParam(required = false) String month,
+                                   @RequestParam(required = false) String category,
+                                   @RequestParam(required = false) String paymentMethod,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "50") int size,
+                                   @RequestParam(defaultValue = "false") boolean includeRawText) {
+        PageQuery.PageQueryBuilder query = PageQuery.builder()
+                .userId(Tenants.check(userId))
+                .period(month != null ? Periods.parse(month) : null)
+                .category(category)
+                .paymentMethod(paymentMethod)
+                .from(from)
+                .to(to)
+                .includeRawText(includeRawText);
+        return transactionService.getPage(query, cursor, size);
+    }
+
+    /**
+     * 카드사 / 은행 내역 파일(CSV, XLSX) 가져오기 → 진행 상황 NDJSON (chunk마다 한 줄, 마지막 줄은 DONE / FAILED)
+     * charset: CSV 인코딩 (카드사 CSV는 보통 EUC-KR), paymentMethod: 결제수단 열이 없을 때 쓸 값
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> importStatement(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                               @RequestPart("file") MultipartFile file,
+                                                               @RequestParam(defaultValue = "UTF-8") String charset,
+                                                               @RequestParam(required = false) String paymentMethod) throws IOException {
+        Tenants.check(userId);
+        Charset encoding = Charset.forName(charset);
+
+        // multipart 임시 파일은 요청이 끝나면 정리되므로 별도 임시 파일로 옮겨 둠 (가져오기가 끝나면 삭제)
+        Path tmp = Files.createTempFile("statement-", ".upload");
+        file.transferTo(tmp);
+        return startImport(userId, tmp, file.getOriginalFilename(), encoding, paymentMethod);
+    }
+
+    /**
+     * 큰 내역 파일 가져오기 - multipart 상한(20MB) 없이 본문을 그대로 임시 파일로 스트리밍 (import.max-bytes까지)
+     * fileName: 원래 파일명 (.xlsx면 XLSX, 나머지는 CSV)
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> importStatementStream(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                                     InputStream body,
+                                                                     @RequestParam String fileName,
+                                                                     @RequestParam(defaultValue = "UTF-8") String charset,
+                                                                     @RequestParam(required = false) String paymentMethod) throws IOException {
+        Tenants.check(userId);
+        Charset encoding = Charset.forName(charset);
+
+        Path tmp = Files.createTempFile("statement-", ".upload");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buffer = new byte[65536];
+            long total = 0;
+            for (int n; (n = body.read(buffer)) != -1; ) {
+                total += n;
+                if (total > importMaxBytes) throw new MaxUploadSizeExceededException(importMaxBytes);
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return startImport(userId, tmp, fileName, encoding, paymentMethod);
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> startImport(String userId, Path tmp, String fileName,
+                                                            Charset encoding, String paymentMethod) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(importTimeoutMs);
+        statementImportService.importStatement(userId, tmp, fileName, encoding, paymentMethod, emitter);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * 오프라인 분석용 내보내기 (달별 Arrow IPC + csv.gz, 서버의 export.dir 아래) → 진행 상황 NDJSON
+     * full=false: 지난 내보내기 이후 새 거래만, full=true: 전체 다시
+     */
+    @PostMapping("/export")
+    public ResponseEntity<ResponseBodyEmitter> export(@RequestHeader(value = Tenants.HEADER, defaultValue = Tenants.DEFAULT_USER) String userId,
+                                                      @RequestParam(defaultValue = "false") boolean full) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(exportTimeoutMs);
+        transactionExportService.export(Tenants.check(userId), full, emitter);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+}
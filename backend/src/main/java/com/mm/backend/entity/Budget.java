@@ -1,5 +1,7 @@
 package com.mm.backend.entity;
 
+import java.io.Serializable;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,15 +11,30 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Budget {
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_budget_user_period", columnNames = {"user_id", "period_ym"}))
+public class Budget implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // 소유 사용자 (X-User-Id)
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
     // "2025-11" 같은 월 정보
     private String month;
 
+    // 같은 달의 정수 표현 (예: 202511), 조회는 이 컬럼 사용
+    @Column(name = "period_ym")
+    private Integer period;
+
     // 그 달의 예산 (원)
     private Integer amount;
+
+    @PrePersist
+    @PreUpdate
+    public void syncPeriod() {
+        if (month != null) period = Periods.parse(month);
+    }
 }
@@ -0,0 +1,34 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** 거래 내보내기 진행 위치 (사용자별, 다음 내보내기는 createdAt이 watermark 이후인 행부터) */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportCheckpoint {
+
+    @Id
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    // 이 시각 전에 만들어진 행은 모두 내보냄 (내보낼 때 시각 - grace, 아직 커밋 안 된 행을 넘지 않도록)
+    private LocalDateTime watermark;
+
+    // 지금까지 내보낸 행 수 (누적)
+    private Long rows;
+
+    private LocalDateTime exportedAt;
+}
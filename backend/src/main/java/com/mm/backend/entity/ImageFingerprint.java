@@ -0,0 +1,58 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 업로드된 캡처 이미지의 지각 해시(dHash 256비트) + 픽셀 해시 + 그 이미지의 파싱 결과.
+ * 같은 캡처가 다시 올라오면 OCR / GPT 없이, 거의 같은 캡처는 GPT 없이 이 결과를 재사용한다.
+ * 원문은 RawTextStore에만 두고 여기에는 해시만 저장한다 (원문 보관 기간을 따르도록).
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_image_fingerprint_user_created", columnList = "user_id, createdAt"))
+public class ImageFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", length = 64, nullable = false)
+    private String userId;
+
+    // dHash 256비트를 64비트씩 나눠 저장
+    private long hash0;
+    private long hash1;
+    private long hash2;
+    private long hash3;
+
+    // 디코딩된 픽셀의 SHA-256 (dHash 후보 중 적중 확인용, 이전 행은 null)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 파싱 결과 TransactionRequest (JSON, rawText 제외)
+    @Column(columnDefinition = "TEXT")
+    private String result;
+
+    // 원문 해시 (RawTextStore 키, 적중 시 원문 복원용)
+    @Column(name = "raw_text_hash", length = 64)
+    private String rawTextHash;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,84 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 비동기 분석/저장 작업 (DB에 남는 큐).
+ * 업로드를 받으면 PENDING으로 저장하고 바로 id를 돌려준 뒤, 워커가 꺼내서 처리한다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_ingest_job_status_next", columnList = "status, nextAttemptAt"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_ingest_job_user_idempotency_key", columnNames = {"user_id", "idempotencyKey"}))
+public class IngestJob {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    public enum Kind { IMAGE, TEXT }
+
+    // UUID
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    // 작업을 올린 사용자 (저장되는 거래의 소유자)
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Kind kind;
+
+    // 클라이언트가 보낸 Idempotency-Key (같은 사용자가 같은 키로 다시 올리면 기존 작업 반환)
+    @Column(length = 100)
+    private String idempotencyKey;
+
+    // IMAGE: 업로드 원본 (처리가 끝나면 비움)
+    @Column(length = 20_971_520)
+    private byte[] image;
+
+    // TEXT: 분석할 원본 텍스트
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    // 지금까지 시도한 횟수
+    private Integer attempts;
+
+    // PENDING: 이 시각 이후에 처리
+    private LocalDateTime nextAttemptAt;
+
+    // RUNNING: 이 시각까지 워커가 처리 중 (지나면 다른 워커가 다시 가져감)
+    private LocalDateTime lockedUntil;
+
+    // DONE: 저장된 거래 id
+    private Long transactionId;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** AI 파싱 결과 캐시 (재시작해도 유지되는 DB 계층) */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_parse_cache_created", columnList = "createdAt"))
+public class ParseCacheEntry {
+
+    // 정규화한 원본 텍스트의 SHA-256 (hex)
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    // GPT가 돌려준 JSON 그대로
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    private LocalDateTime createdAt;
+}
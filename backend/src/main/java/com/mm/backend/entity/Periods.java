@@ -0,0 +1,37 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 월 정보를 yyyyMM 정수(예: 202511)로 다루는 유틸.
+ * 문자열 "2025-11"보다 작고, 범위 조회(between)에 인덱스를 그대로 쓸 수 있다.
+ */
+public final class Periods {
+
+    private Periods() {
+    }
+
+    public static int of(YearMonth ym) {
+        return ym.getYear() * 100 + ym.getMonthValue();
+    }
+
+    public static int of(LocalDateTime datetime) {
+        return datetime.getYear() * 100 + datetime.getMonthValue();
+    }
+
+    /** "2025-11" → 202511 (형식이 다르면 IllegalArgumentException) */
+    public static int parse(String month) {
+        try {
+            return of(YearMonth.parse(month.trim()));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid month (expected YYYY-MM): " + month);
+        }
+    }
+
+    /** 202511 → "2025-11" */
+    public static String toMonth(int period) {
+        return YearMonth.of(period / 100, period % 100).toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.mm.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * OCR/문자 원본 텍스트 보관 (Transaction 행에서 분리, 감사/재파싱 때만 읽음).
+ * 같은 내용은 한 번만 저장 (키 = 원문 SHA-256), 본문은 deflate 압축.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = @Index(name = "idx_raw_text_blob_last_seen", columnList = "lastSeenAt"))
+public class RawTextBlob {
+
+    // 원문(UTF-8) SHA-256 (hex)
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    // deflate 압축한 원문
+    @Column(nullable = false, length = 1_048_576)
+    private byte[] data;
+
+    // 압축 전 바이트 수
+    private Integer originalLength;
+
+    private LocalDateTime createdAt;
+
+    // 마지막으로 이 원문을 참조하는 거래가 저장된 시각 (보관 기간 기준)
+    private LocalDateTime lastSeenAt;
+}
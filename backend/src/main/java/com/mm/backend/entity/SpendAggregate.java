@@ -0,0 +1,49 @@
+package com.mm.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 사용자별 월 소비 집계 (합계 / 카테고리별 / 결제수단별).
+ * Transaction 저장 시 같은 트랜잭션 안에서 증분 갱신된다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "spend_aggregate",
+        uniqueConstraints = @UniqueConstraint(name = "uk_spend_aggregate_user_key",
+                columnNames = {"user_id", "month", "dimension", "dim_key"}))
+public class SpendAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 소유 사용자 (X-User-Id)
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    // "2025-11" 같은 월 정보
+    private String month;
+
+    // 집계 기준 (TOTAL, CATEGORY, PAYMENT_METHOD)
+    @Enumerated(EnumType.STRING)
+    private Dimension dimension;
+
+    // 기준 값 (TOTAL이면 "ALL", 그 외에는 카테고리/결제수단 이름)
+    @Column(name = "dim_key")
+    private String dimKey;
+
+    // 합계 금액 (원)
+    private Long amount;
+
+    // 거래 건수
+    private Long txCount;
+
+    public enum Dimension {
+        TOTAL, CATEGORY, PAYMENT_METHOD
+    }
+}
@@ -1,5 +1,6 @@
 package com.mm.backend.entity;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
@@ -7,6 +8,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,15 +27,38 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Transaction {
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_transaction_user_dedup_key", columnNames = {"user_id", "dedup_key"}),
+        indexes = {
+        // 모든 조회는 user_id로 시작 (PostgreSQL에서는 user_id 해시 → period_ym 범위 파티션)
+        // 목록 keyset 페이지 (datetime, id) + 선택 필터
+        @Index(name = "idx_transaction_user_datetime_id", columnList = "user_id, datetime, id"),
+        @Index(name = "idx_transaction_user_period_datetime_id", columnList = "user_id, period_ym, datetime, id"),
+        @Index(name = "idx_transaction_user_period_category", columnList = "user_id, period_ym, category"),
+        @Index(name = "idx_transaction_user_period_merchant", columnList = "user_id, period_ym, merchant"),
+        @Index(name = "idx_transaction_user_category_datetime_id", columnList = "user_id, category, datetime, id"),
+        @Index(name = "idx_transaction_user_payment_datetime_id", columnList = "user_id, paymentMethod, datetime, id")
+})
+public class Transaction implements Serializable {
 
+    public static final int ALLOCATION_SIZE = 500;
+
+    // 시퀀스에서 ALLOCATION_SIZE개씩 미리 받아 씀 (IDENTITY와 달리 Hibernate batch insert 가능)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = Transaction.ALLOCATION_SIZE)
     private Long id;
 
-    // 이 소비가 속하는 달 (예: "2025-11")
+    // 소유 사용자 (X-User-Id)
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    // 이 소비가 속하는 달 (예: "2025-11") - 저장 시 datetime 기준으로 맞춰짐
     private String month;
 
+    // 같은 달의 정수 표현 (예: 202511) - datetime에서 계산, 조회/집계는 이 컬럼 사용
+    @Column(name = "period_ym")
+    private Integer period;
+
     // 실제 결제 시각
     private LocalDateTime datetime;
 
@@ -43,7 +74,36 @@ public class Transaction {
     // 카테고리 (카페/간식, 식비, 교통, 기타 등)
     private String category;
 
-    // OCR/문자에서 뽑은 원본 텍스트 전체
-    @Column(columnDefinition = "TEXT")
+    // OCR/문자 원본 텍스트의 해시 (본문은 RawTextBlob에 압축 보관, 보관 기간 지나면 null)
+    @Column(name = "raw_text_hash", length = 64)
+    private String rawTextHash;
+
+    // 원본 텍스트 전체 - DB 컬럼 아님, 저장 직후 응답이나 원문 조회 때만 채워짐
+    @Transient
     private String rawText;
+
+    // 중복 저장 방지 키 (사용자 + 원문 해시 + 금액 + 가맹점 + 결제 시각), 원문 없이 직접 입력한 거래는 null
+    @Column(name = "dedup_key", length = 64)
+    private String dedupKey;
+
+    // 행을 만든 시각 (내보내기 워터마크용, 이 컬럼이 생기기 전 행은 null)
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        syncPeriod();
+    }
+
+    // datetime 기준으로 period / month 맞추기 (JDBC로 직접 저장할 때도 호출)
+    @PreUpdate
+    public void syncPeriod() {
+        if (datetime != null) {
+            period = Periods.of(datetime);
+            month = Periods.toMonth(period);
+        } else if (month != null) {
+            period = Periods.parse(month);
+        }
+    }
 }
@@ -3,9 +3,15 @@ package com.mm.backend.repository;
 import com.mm.backend.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
-    Optional<Budget> findByMonth(String month);
+    Optional<Budget> findByUserIdAndPeriod(String userId, Integer period);
+
+    // 여러 달 범위 조회 (from, to 모두 포함)
+    List<Budget> findByUserIdAndPeriodBetweenOrderByPeriodAsc(String userId, Integer fromPeriod, Integer toPeriod);
+
+    List<Budget> findByPeriodIsNull();
 }
@@ -0,0 +1,8 @@
+package com.mm.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.mm.backend.entity.ExportCheckpoint;
+
+public interface ExportCheckpointRepository extends JpaRepository<ExportCheckpoint, String> {
+}
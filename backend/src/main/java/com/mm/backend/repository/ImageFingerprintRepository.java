@@ -0,0 +1,22 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mm.backend.entity.ImageFingerprint;
+
+public interface ImageFingerprintRepository extends JpaRepository<ImageFingerprint, Long> {
+
+    // 사용자의 최근 지문 (메모리 인덱스 적재용, 최신순)
+    List<ImageFingerprint> findByUserIdAndCreatedAtAfterOrderByIdDesc(String userId, LocalDateTime after, Pageable limit);
+
+    @Modifying
+    @Query("delete from ImageFingerprint f where f.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
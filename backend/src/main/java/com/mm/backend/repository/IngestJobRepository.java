@@ -0,0 +1,48 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mm.backend.entity.IngestJob;
+import com.mm.backend.entity.IngestJob.Status;
+
+public interface IngestJobRepository extends JpaRepository<IngestJob, String> {
+
+    Optional<IngestJob> findByUserIdAndIdempotencyKey(String userId, String idempotencyKey);
+
+    // 처리할 차례인 작업 (대기 중이거나, 처리하던 워커가 죽어서 lock이 만료된 것)
+    @Query("select j.id from IngestJob j " +
+            "where (j.status = :pending and j.nextAttemptAt <= :now) " +
+            "or (j.status = :running and j.lockedUntil < :now) " +
+            "order by j.createdAt")
+    List<String> findClaimable(@Param("now") LocalDateTime now,
+                               @Param("pending") Status pending,
+                               @Param("running") Status running,
+                               Pageable limit);
+
+    // 가져가기 (다른 워커가 먼저 가져갔으면 0)
+    @Modifying
+    @Query("update IngestJob j set j.status = :running, j.lockedUntil = :until, " +
+            "j.attempts = j.attempts + 1, j.updatedAt = :now " +
+            "where j.id = :id and ((j.status = :pending and j.nextAttemptAt <= :now) " +
+            "or (j.status = :running and j.lockedUntil < :now))")
+    int claim(@Param("id") String id,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until,
+              @Param("pending") Status pending,
+              @Param("running") Status running);
+
+    // 끝난 작업 (DONE / FAILED) 중 마지막 갱신이 cutoff 이전인 것 삭제
+    @Modifying
+    @Query("delete from IngestJob j where j.status in :finished and j.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("finished") Collection<Status> finished,
+                             @Param("cutoff") LocalDateTime cutoff);
+}
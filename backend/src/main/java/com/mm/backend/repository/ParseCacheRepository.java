@@ -0,0 +1,27 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mm.backend.entity.ParseCacheEntry;
+
+public interface ParseCacheRepository extends JpaRepository<ParseCacheEntry, String> {
+
+    // 저장 시각 (최신순, 행 수 상한의 경계 찾기용)
+    @Query("select e.createdAt from ParseCacheEntry e order by e.createdAt desc")
+    List<LocalDateTime> findCreatedAtNewestFirst(Pageable page);
+
+    @Modifying
+    @Query("delete from ParseCacheEntry e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from ParseCacheEntry e where e.createdAt <= :cutoff")
+    int deleteCreatedAtOrBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,23 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.mm.backend.entity.RawTextBlob;
+
+public interface RawTextBlobRepository extends JpaRepository<RawTextBlob, String> {
+
+    // 중복 원문이 다시 들어오면 보관 기간 연장
+    @Modifying
+    @Query("update RawTextBlob b set b.lastSeenAt = :now where b.contentHash in :hashes")
+    int touch(@Param("hashes") Collection<String> hashes, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RawTextBlob b where b.lastSeenAt < :cutoff")
+    int deleteSeenBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,36 @@
+package com.mm.backend.repository;
+
+import com.mm.backend.entity.SpendAggregate;
+import com.mm.backend.entity.SpendAggregate.Dimension;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SpendAggregateRepository extends JpaRepository<SpendAggregate, Long> {
+
+    Optional<SpendAggregate> findByUserIdAndMonthAndDimensionAndDimKey(String userId, String month, Dimension dimension, String dimKey);
+
+    List<SpendAggregate> findByUserIdAndMonthAndDimension(String userId, String month, Dimension dimension);
+
+    @Query("select distinct a.month from SpendAggregate a where a.userId = :userId")
+    List<String> findDistinctMonths(@Param("userId") String userId);
+
+    // 행 단위 원자적 증감 (갱신된 행 수 반환, 0이면 아직 행이 없음)
+    @Modifying
+    @Query("update SpendAggregate a set a.amount = a.amount + :amount, a.txCount = a.txCount + :count " +
+            "where a.userId = :userId and a.month = :month and a.dimension = :dimension and a.dimKey = :dimKey")
+    int increment(@Param("userId") String userId,
+                  @Param("month") String month,
+                  @Param("dimension") Dimension dimension,
+                  @Param("dimKey") String dimKey,
+                  @Param("amount") long amount,
+                  @Param("count") long count);
+
+    @Modifying
+    @Query("delete from SpendAggregate a where a.userId = :userId and a.month = :month")
+    int deleteByUserIdAndMonth(@Param("userId") String userId, @Param("month") String month);
+}
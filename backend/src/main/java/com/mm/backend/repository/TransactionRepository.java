@@ -1,12 +1,134 @@
 package com.mm.backend.repository;
 
 import com.mm.backend.entity.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
-    // 특정 month에 해당하는 모든 소비 내역 조회
-    List<Transaction> findByMonth(String month);
+    // 특정 사용자의 한 달(yyyyMM) 소비 내역 조회 (user_id, period, datetime 인덱스 사용)
+    List<Transaction> findByUserIdAndPeriodOrderByDatetimeAsc(String userId, Integer period);
+
+    // 여러 달 범위 조회 (from, to 모두 포함)
+    List<Transaction> findByUserIdAndPeriodBetweenOrderByDatetimeAsc(String userId, Integer fromPeriod, Integer toPeriod);
+
+    Optional<Transaction> findByIdAndUserId(Long id, String userId);
+
+    // 같은 사용자/원문/금액/가맹점/시각으로 이미 저장된 거래
+    Optional<Transaction> findByUserIdAndDedupKey(String userId, String dedupKey);
+
+    @Query("select t.dedupKey from Transaction t where t.userId = :userId and t.dedupKey in :keys")
+    List<String> findExistingDedupKeys(@Param("userId") String userId, @Param("keys") Collection<String> keys);
+
+    // 내보내기용 커서 (createdAt이 [from, to), includeLegacy면 createdAt 없는 예전 행도, 달별로 모아서)
+    // 읽기 전용 트랜잭션 안에서 fetch size씩 읽음
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Transaction t where t.userId = :userId"
+            + " and ((t.createdAt >= :from and t.createdAt < :to) or (:includeLegacy = true and t.createdAt is null))"
+            + " order by t.period, t.id")
+    Stream<Transaction> streamForExport(@Param("userId") String userId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("includeLegacy") boolean includeLegacy);
+
+    // ---- 집계 재계산용 (엔티티 로딩 없이 DB에서 합산) ----
+
+    @Query("select distinct t.period from Transaction t where t.userId = :userId and t.period is not null")
+    List<Integer> findDistinctPeriods(@Param("userId") String userId);
+
+    @Query("select 'ALL' as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period = :period")
+    List<AmountBucket> sumTotal(@Param("userId") String userId, @Param("period") Integer period);
+
+    @Query("select t.category as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period = :period group by t.category")
+    List<AmountBucket> sumByCategory(@Param("userId") String userId, @Param("period") Integer period);
+
+    @Query("select t.paymentMethod as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period = :period group by t.paymentMethod")
+    List<AmountBucket> sumByPaymentMethod(@Param("userId") String userId, @Param("period") Integer period);
+
+    // ---- 여러 달 분석용 (period 범위, from/to 모두 포함) ----
+
+    @Query("select 'ALL' as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to")
+    List<AmountBucket> sumTotalBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to);
+
+    @Query("select t.category as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to " +
+            "group by t.category order by coalesce(sum(t.amount), 0) desc")
+    List<AmountBucket> sumByCategoryBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to);
+
+    @Query("select t.paymentMethod as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to " +
+            "group by t.paymentMethod order by coalesce(sum(t.amount), 0) desc")
+    List<AmountBucket> sumByPaymentMethodBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to);
+
+    // 가맹점은 종류가 많아서 상위 N개만 (Pageable로 limit)
+    @Query("select t.merchant as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to " +
+            "group by t.merchant order by coalesce(sum(t.amount), 0) desc")
+    List<AmountBucket> sumByMerchantBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to, Pageable top);
+
+    @Query("select str(t.period) as bucket, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to " +
+            "group by t.period order by t.period")
+    List<AmountBucket> sumByPeriodBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to);
+
+    @Query("select cast(t.datetime as LocalDate) as bucketDate, coalesce(sum(t.amount), 0) as total, count(t) as cnt " +
+            "from Transaction t where t.userId = :userId and t.period between :from and :to " +
+            "group by cast(t.datetime as LocalDate) order by cast(t.datetime as LocalDate)")
+    List<DailyBucket> sumByDayBetween(@Param("userId") String userId, @Param("from") Integer from, @Param("to") Integer to);
+
+    // ---- period 컬럼 추가 전 데이터 채우기 ----
+
+    @Modifying
+    @Query("update Transaction t set t.period = year(t.datetime) * 100 + month(t.datetime) " +
+            "where t.period is null and t.datetime is not null")
+    int backfillPeriodFromDatetime();
+
+    // ---- 원본 텍스트 보관 기간 정리 ----
+
+    // 원문 정리로 바뀌는 (사용자, 달) - 월 거래 목록 캐시 삭제용
+    @Query("select distinct t.userId as userId, t.period as period from Transaction t where t.rawTextHash in " +
+            "(select b.contentHash from RawTextBlob b where b.lastSeenAt < :cutoff)")
+    List<UserPeriod> findUserPeriodsWithRawTextSeenBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("update Transaction t set t.rawTextHash = null where t.rawTextHash in " +
+            "(select b.contentHash from RawTextBlob b where b.lastSeenAt < :cutoff)")
+    int clearRawTextSeenBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    interface UserPeriod {
+        String getUserId();
+        Integer getPeriod();
+    }
+
+    interface AmountBucket {
+        String getBucket();
+        Long getTotal();
+        Long getCnt();
+    }
+
+    interface DailyBucket {
+        LocalDate getBucketDate();
+        Long getTotal();
+        Long getCnt();
+    }
 }
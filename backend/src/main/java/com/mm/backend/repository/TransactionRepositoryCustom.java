@@ -0,0 +1,27 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+public interface TransactionRepositoryCustom {
+
+    // (datetime, id) 기준 keyset 페이지 조회 - 최신순, limit건 (항상 한 사용자 범위)
+    List<TransactionSummary> findPage(PageQuery query, int limit);
+
+    @Getter
+    @Builder
+    class PageQuery {
+        private String userId;               // 필수
+        private Integer period;              // yyyyMM
+        private String category;
+        private String paymentMethod;
+        private LocalDateTime from;          // 포함
+        private LocalDateTime to;            // 미포함
+        private LocalDateTime afterDatetime; // 커서 (이전 페이지 마지막 항목)
+        private Long afterId;
+        private boolean includeRawText;
+    }
+}
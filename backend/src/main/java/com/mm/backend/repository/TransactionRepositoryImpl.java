@@ -0,0 +1,47 @@
+package com.mm.backend.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/** TransactionRepository의 직접 구현 부분 (조건이 선택적인 목록 조회) */
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TransactionSummary> findPage(PageQuery q, int limit) {
+        StringBuilder jpql = new StringBuilder()
+                .append("select new com.mm.backend.repository.TransactionSummary(")
+                .append("t.id, t.month, t.datetime, t.amount, t.merchant, t.paymentMethod, t.category")
+                .append(q.isIncludeRawText() ? ", t.rawTextHash" : "")
+                .append(") from Transaction t where t.userId = :userId");
+
+        if (q.getPeriod() != null) jpql.append(" and t.period = :period");
+        if (q.getCategory() != null) jpql.append(" and t.category = :category");
+        if (q.getPaymentMethod() != null) jpql.append(" and t.paymentMethod = :paymentMethod");
+        if (q.getFrom() != null) jpql.append(" and t.datetime >= :from");
+        if (q.getTo() != null) jpql.append(" and t.datetime < :to");
+        if (q.getAfterDatetime() != null) {
+            jpql.append(" and (t.datetime < :afterDatetime or (t.datetime = :afterDatetime and t.id < :afterId))");
+        }
+        jpql.append(" order by t.datetime desc, t.id desc");
+
+        TypedQuery<TransactionSummary> query = em.createQuery(jpql.toString(), TransactionSummary.class);
+        query.setParameter("userId", q.getUserId());
+        if (q.getPeriod() != null) query.setParameter("period", q.getPeriod());
+        if (q.getCategory() != null) query.setParameter("category", q.getCategory());
+        if (q.getPaymentMethod() != null) query.setParameter("paymentMethod", q.getPaymentMethod());
+        if (q.getFrom() != null) query.setParameter("from", q.getFrom());
+        if (q.getTo() != null) query.setParameter("to", q.getTo());
+        if (q.getAfterDatetime() != null) {
+            query.setParameter("afterDatetime", q.getAfterDatetime());
+            query.setParameter("afterId", q.getAfterId());
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
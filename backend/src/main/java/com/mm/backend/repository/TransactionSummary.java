@@ -0,0 +1,44 @@
+package com.mm.backend.repository;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** 목록 조회용 가벼운 projection (rawText는 요청할 때만 원문 보관소에서 채움) */
+@Getter
+public class TransactionSummary {
+
+    private Long id;
+    private String month;
+    private LocalDateTime datetime;
+    private Integer amount;
+    private String merchant;
+    private String paymentMethod;
+    private String category;
+
+    @JsonIgnore
+    private String rawTextHash;
+
+    @Setter
+    private String rawText;
+
+    public TransactionSummary(Long id, String month, LocalDateTime datetime, Integer amount,
+                              String merchant, String paymentMethod, String category, String rawTextHash) {
+        this.id = id;
+        this.month = month;
+        this.datetime = datetime;
+        this.amount = amount;
+        this.merchant = merchant;
+        this.paymentMethod = paymentMethod;
+        this.category = category;
+        this.rawTextHash = rawTextHash;
+    }
+
+    public TransactionSummary(Long id, String month, LocalDateTime datetime, Integer amount,
+                              String merchant, String paymentMethod, String category) {
+        this(id, month, datetime, amount, merchant, paymentMethod, category, null);
+    }
+}
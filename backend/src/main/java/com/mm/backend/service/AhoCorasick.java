@@ -0,0 +1,112 @@
+package com.mm.backend.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * 여러 키워드를 한 번에 찾는 Aho-Corasick 매처 (대소문자 무시).
+ * 텍스트를 한 번만 훑으면서 등록된 모든 키워드의 출현을 payload로 알려준다.
+ * 영문 / 숫자로 시작하거나 끝나는 키워드는 단어 경계에서만 ("CU"가 "Account", "CUSTOMER" 안에서 맞지 않게),
+ * SHORT_KEYWORD 글자 이하의 영문 키워드는 대소문자까지 같아야 맞는다 ("cup"의 "cu").
+ * 생성 후에는 읽기 전용이라 여러 스레드에서 동시에 써도 된다.
+ */
+final class AhoCorasick<T> {
+
+    // 이 길이 이하의 영문 키워드는 대소문자 구분
+    private static final int SHORT_KEYWORD = 3;
+
+    private static final class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private final List<Output> outputs = new ArrayList<>();
+        private Node fail;
+    }
+
+    // 키워드 하나 (끝나는 위치에서 원문과 한 번 더 비교)
+    private record Output(Object payload, String keyword, boolean exactCase, boolean boundedStart, boolean boundedEnd) {
+
+        boolean accepts(String text, int end) {
+            int start = end - keyword.length() + 1;
+            if (boundedStart && start > 0 && isWordChar(text.charAt(start - 1))) return false;
+            if (boundedEnd && end + 1 < text.length() && isWordChar(text.charAt(end + 1))) return false;
+            return !exactCase || text.startsWith(keyword, start);
+        }
+    }
+
+    private final Node root;
+
+    private AhoCorasick(Node root) {
+        this.root = root;
+    }
+
+    /** 텍스트를 훑으며 키워드가 나올 때마다 onMatch 호출 */
+    @SuppressWarnings("unchecked")
+    void scan(String text, Consumer<T> onMatch) {
+        Node state = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toUpperCase(text.charAt(i));
+            while (state != root && !state.next.containsKey(c)) {
+                state = state.fail;
+            }
+            state = state.next.getOrDefault(c, root);
+            for (Output output : state.outputs) {
+                if (output.accepts(text, i)) onMatch.accept((T) output.payload());
+            }
+        }
+    }
+
+    // 영문 / 숫자 (한글은 붙여 쓰므로 경계로 보지 않음)
+    private static boolean isWordChar(char c) {
+        return c < 128 && Character.isLetterOrDigit(c);
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    static final class Builder<T> {
+        private final Node root = new Node();
+
+        Builder<T> add(String keyword, T payload) {
+            if (keyword == null || keyword.isEmpty()) return this;
+            Node node = root;
+            for (int i = 0; i < keyword.length(); i++) {
+                node = node.next.computeIfAbsent(Character.toUpperCase(keyword.charAt(i)), k -> new Node());
+            }
+            boolean latin = keyword.chars().anyMatch(ch -> ch < 128 && Character.isLetter(ch));
+            node.outputs.add(new Output(payload, keyword,
+                    latin && keyword.length() <= SHORT_KEYWORD,
+                    isWordChar(keyword.charAt(0)),
+                    isWordChar(keyword.charAt(keyword.length() - 1))));
+            return this;
+        }
+
+        // BFS로 실패 링크 연결 + 실패 링크 쪽 출력 합치기
+        AhoCorasick<T> build() {
+            Queue<Node> queue = new ArrayDeque<>();
+            for (Node child : root.next.values()) {
+                child.fail = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (Map.Entry<Character, Node> e : node.next.entrySet()) {
+                    Node child = e.getValue();
+                    Node f = node.fail;
+                    while (f != root && !f.next.containsKey(e.getKey())) {
+                        f = f.fail;
+                    }
+                    Node target = f.next.get(e.getKey());
+                    child.fail = target != null && target != child ? target : root;
+                    child.outputs.addAll(child.fail.outputs);
+                    queue.add(child);
+                }
+            }
+            return new AhoCorasick<>(root);
+        }
+    }
+}
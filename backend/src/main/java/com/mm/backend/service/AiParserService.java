@@ -1,196 +1,239 @@
 package com.mm.backend.service;
 
-import java.time.LocalDateTime;
-import java.time.YearMonth;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.config.LogSampler;
+import com.mm.backend.config.Stages;
 import com.mm.backend.service.TransactionService.TransactionRequest;
 
-import jakarta.annotation.PostConstruct;
-
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트 → TransactionRequest (단계별 파싱).
+ * 1) 규칙 파서 (parser.tiered.enabled일 때): 신뢰도가 min-confidence 이상이면 그대로 사용
+ * 2) 파싱 결과 캐시: 같은 텍스트를 최근에 GPT로 파싱했으면 그 결과
+ * 3) GPT 호출 (실패하면 규칙 기반 fallback)
+ */
+@Slf4j
 @Service
 public class AiParserService {
 
-    @Value("${openai.api-key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper mapper = new ObjectMapper();
+    private final ParseResultCache parseResultCache;
+    private final OpenAiClient openAiClient;
+    private final LlmBatcher llmBatcher;
+    private final RuleParser ruleParser;
+    private final ObservationRegistry observationRegistry;
+    private final LlmResponseConverter responseConverter;
+    private final LogSampler contentLogSampler;
+    private final boolean tiered;
+    private final double minConfidence;
+
+    // 단계별 처리 건수
+    private final Counter ruleTier;
+    private final Counter cacheTier;
+    private final Counter llmTier;
+    private final Counter fallbackTier;
+
+    public AiParserService(ParseResultCache parseResultCache,
+                           OpenAiClient openAiClient,
+                           LlmBatcher llmBatcher,
+                           RuleParser ruleParser,
+                           ObservationRegistry observationRegistry,
+                           MeterRegistry meterRegistry,
+                           @Value("${logging.sample.llm-content:100}") long contentLogEvery,
+                           @Value("${parser.tiered.enabled:true}") boolean tiered,
+                           @Value("${parser.tiered.min-confidence:0.8}") double minConfidence) {
+        this.parseResultCache = parseResultCache;
+        this.openAiClient = openAiClient;
+        this.llmBatcher = llmBatcher;
+        this.ruleParser = ruleParser;
+        this.observationRegistry = observationRegistry;
+        this.responseConverter = new LlmResponseConverter(mapper, observationRegistry);
+        this.contentLogSampler = new LogSampler(contentLogEvery);
+        this.tiered = tiered;
+        this.minConfidence = minConfidence;
+        this.ruleTier = tierCounter(meterRegistry, "rule");
+        this.cacheTier = tierCounter(meterRegistry, "cache");
+        this.llmTier = tierCounter(meterRegistry, "llm");
+        this.fallbackTier = tierCounter(meterRegistry, "fallback");
+    }
 
-    @PostConstruct
-    public void checkKey() {
-        if (apiKey == null) {
-            System.out.println("🔥 OPENAI KEY NOT FOUND (null)");
-        } else {
-            System.out.println("🔥 OPENAI KEY LOADED: " +
-                    apiKey.substring(0, Math.min(20, apiKey.length())) + "...");
-        }
+    private static Counter tierCounter(MeterRegistry meterRegistry, String tier) {
+        return Counter.builder(Stages.PARSE_TIER)
+                .description("파싱이 끝난 단계별 건수")
+                .tag("tier", tier)
+                .register(meterRegistry);
     }
 
+    /** 동기 파싱 (OCR 경로 등 기존 호출부) */
     public TransactionRequest parseWithAI(String rawText) {
-        try {
-            // ===================== 1) GPT 프롬프트 =====================
-            String requestBody = """
-            {
-              "model": "gpt-4o-mini",
-              "messages": [
-                {
-                  "role": "system",
-                  "content": "You are an expert receipt parsing assistant. Output ONLY valid JSON."
-                },
-                {
-                  "role": "user",
-                  "content": "Extract payment info from this text and return ONLY this JSON format:\\n{\\n  \\"amount\\": number,\\n  \\"merchant\\": string,\\n  \\"paymentMethod\\": string,\\n  \\"category\\": string,\\n  \\"month\\": \\"YYYY-MM\\",\\n  \\"datetime\\": \\"YYYY-MM-DDTHH:mm:ss\\"\\n}\\nTEXT: %s"
-                }
-              ],
-              "temperature": 0.0
-            }
-            """.formatted(rawText);
+        return parseWithAIAsync(rawText).join();
+    }
 
-            // ===================== 2) HTTP 요청 설정 =====================
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
+    /** 비동기 파싱 - GPT 응답을 기다리는 동안 호출 스레드를 붙잡지 않음 (실패해도 항상 fallback 결과로 완료) */
+    public CompletableFuture<TransactionRequest> parseWithAIAsync(String rawText) {
+        return parseAsync(rawText).thenApply(ParseOutcome::getRequest);
+    }
 
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+    /** 비동기 파싱 + 결과를 다시 써도 되는지 (fallback이면 reusable=false) */
+    public CompletableFuture<ParseOutcome> parseAsync(String rawText) {
+        Optional<TransactionRequest> resolved = resolveWithoutLlm(rawText);
+        if (resolved.isPresent()) {
+            return CompletableFuture.completedFuture(new ParseOutcome(resolved.get(), true));
+        }
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    "https://api.openai.com/v1/chat/completions",
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
+        // ===================== 1) GPT 호출 (배치 모드면 다른 요청과 묶어서) =====================
+        CompletableFuture<String> call = llmBatcher.isEnabled()
+                ? llmBatcher.submit(rawText)
+                : openAiClient.completeAsync(ParsePrompts.single(rawText));
 
-            System.out.println("=== OpenAI STATUS === " + response.getStatusCode());
-            System.out.println("=== OpenAI BODY === " + response.getBody());
+        return call.handle((content, error) -> error == null
+                ? onContent(rawText, content)
+                : fallback(rawText, OpenAiClient.unwrap(error)));
+    }
 
-            // ===================== 3) JSON 파싱 ==========================
-            JsonNode root = mapper.readTree(response.getBody());
-            String content = root.path("choices").get(0).path("message").path("content").asText();
-            System.out.println("=== AI Parsed Content === " + content);
+    /**
+     * 스트리밍 파싱 - GPT가 JSON을 조각으로 보내는 동안 최상위 필드(amount, merchant 등)가 완성될 때마다
+     * onField로 먼저 넘기고, 끝나면 전체 결과로 완료 (규칙 / 캐시로 끝나면 onField 없이 바로 완료).
+     * 배치 모드와 관계없이 단건으로 호출한다.
+     */
+    public CompletableFuture<TransactionRequest> parseWithAIStreaming(String rawText, BiConsumer<String, JsonNode> onField) {
+        return parseStreaming(rawText, onField).thenApply(ParseOutcome::getRequest);
+    }
 
-            // ===================== 4) 결과 채우기 ========================
-            return convertJsonToTransaction(rawText, content);
+    /** 스트리밍 파싱 + 결과를 다시 써도 되는지 (fallback이면 reusable=false) */
+    public CompletableFuture<ParseOutcome> parseStreaming(String rawText, BiConsumer<String, JsonNode> onField) {
+        Optional<TransactionRequest> resolved = resolveWithoutLlm(rawText);
+        if (resolved.isPresent()) {
+            return CompletableFuture.completedFuture(new ParseOutcome(resolved.get(), true));
         }
-        // ======= GPT 에러(429, 401 등) → 규칙 기반 fallback ============
-        catch (HttpClientErrorException e) {
-            System.out.println("=== OpenAI ERROR STATUS === " + e.getStatusCode());
-            System.out.println("=== OpenAI ERROR BODY === " + e.getResponseBodyAsString());
-
-            TransactionRequest backup = ruleBasedParse(rawText);
-            backup.setMerchant("GPT_FAILED | " + backup.getMerchant());
-            return backup;
+
+        JsonFieldStream fields = new JsonFieldStream(mapper, onField::accept);
+        return openAiClient.streamAsync(ParsePrompts.single(rawText), fields::feed)
+                .handle((content, error) -> error == null
+                        ? onContent(rawText, content)
+                        : fallback(rawText, OpenAiClient.unwrap(error)));
+    }
+
+    // GPT 없이 끝나는 단계 (규칙 파서 → 파싱 결과 캐시)
+    private Optional<TransactionRequest> resolveWithoutLlm(String rawText) {
+        // 규칙 파서로 충분히 확실하면 GPT 호출 생략 (카카오페이 / 네이버페이 알림 등 정형 문구)
+        if (tiered) {
+            RuleParser.ScoredParse rule = ruleParser.parseScored(rawText);
+            if (rule.getScore() >= minConfidence) {
+                ruleTier.increment();
+                return Optional.of(rule.getRequest());
+            }
         }
-        catch (Exception e) {
-            e.printStackTrace();
-            // 여기서도 완전 죽지 말고 규칙 기반 fallback 사용
-            TransactionRequest backup = ruleBasedParse(rawText);
-            backup.setMerchant("GPT_ERROR | " + backup.getMerchant());
-            return backup;
+
+        // 같은 텍스트를 최근에 파싱했다면 GPT 호출 생략
+        Optional<String> cached = parseResultCache.get(rawText);
+        if (cached.isPresent()) {
+            cacheTier.increment();
+            return Optional.of(responseConverter.convert(rawText, cached.get()));
         }
+        return Optional.empty();
     }
 
-    // ===================== JSON → TransactionRequest ======================
-    private TransactionRequest convertJsonToTransaction(String rawText, String jsonText) {
-        TransactionRequest tr = new TransactionRequest();
-        tr.setRawText(rawText);
+    private ParseOutcome onContent(String rawText, String content) {
+        llmTier.increment();
+        if (log.isDebugEnabled() || contentLogSampler.sample()) {
+            log.info("AI parsed content={}", content);
+        }
+
+        // 정상 JSON일 때만 캐시 (fallback 결과는 캐시하지 않음)
+        boolean json = isJson(content);
+        if (json) {
+            parseResultCache.put(rawText, content);
+        }
 
-        try {
-            JsonNode json = mapper.readTree(jsonText);
-
-            if (json.has("amount")) tr.setAmount(json.path("amount").asInt());
-            if (json.has("merchant")) tr.setMerchant(json.path("merchant").asText());
-            if (json.has("paymentMethod")) tr.setPaymentMethod(json.path("paymentMethod").asText());
-            if (json.has("category")) tr.setCategory(json.path("category").asText());
-            if (json.has("month")) tr.setMonth(json.path("month").asText());
-
-            if (json.has("datetime")) {
-                try {
-                    tr.setDatetime(LocalDateTime.parse(json.path("datetime").asText()));
-                } catch (Exception e) {
-                    tr.setDatetime(LocalDateTime.now());
-                }
-            } else {
-                tr.setDatetime(LocalDateTime.now());
-            }
+        // ===================== 2) 결과 채우기 ========================
+        return new ParseOutcome(responseConverter.convert(rawText, content), json);
+    }
 
-            if (tr.getMonth() == null) {
-                tr.setMonth(YearMonth.now().toString());
-            }
-            if (tr.getMerchant() == null) tr.setMerchant("Unknown");
-            if (tr.getPaymentMethod() == null) tr.setPaymentMethod("Unknown");
-            if (tr.getCategory() == null) tr.setCategory("기타");
+    // ======= GPT 에러(429, 401 등) / 서킷 open → 규칙 기반 fallback ============
+    private ParseOutcome fallback(String rawText, Throwable error) {
+        fallbackTier.increment();
+        String reason;
+        if (error instanceof LlmHttpException http && http.isClientError()) {
+            log.warn("OpenAI error status={} body={}", http.getStatusCode(), http.getResponseBody());
+            reason = "GPT_FAILED";
+        } else if (error instanceof CircuitOpenException) {
+            // 서킷이 열려 있으면 기다리지 않고 바로 규칙 기반
+            reason = "GPT_FAILED";
+        } else {
+            // 여기서도 완전 죽지 말고 규칙 기반 fallback 사용
+            log.warn("OpenAI call failed, using rule parser", error);
+            reason = "GPT_ERROR";
+        }
 
+        TransactionRequest backup = Observation.createNotStarted(Stages.RULE_FALLBACK, observationRegistry)
+                .lowCardinalityKeyValue("reason", reason)
+                .observe(() -> ruleBasedParse(rawText));
+        backup.setMerchant(reason + " | " + backup.getMerchant());
+        return new ParseOutcome(backup, false);
+    }
+
+    private boolean isJson(String text) {
+        try {
+            return mapper.readTree(text).isObject();
         } catch (Exception e) {
-            System.out.println("⚠️ JSON 형식 아님 → 전체 응답을 merchant에 저장");
-            tr.setMerchant(jsonText);
-            tr.setDatetime(LocalDateTime.now());
-            tr.setMonth(YearMonth.now().toString());
+            return false;
         }
-
-        return tr;
     }
 
     // ===================== 규칙 기반 fallback 파서 ========================
     private TransactionRequest ruleBasedParse(String rawText) {
-        TransactionRequest tr = new TransactionRequest();
-        tr.setRawText(rawText);
-        tr.setDatetime(LocalDateTime.now());
-        tr.setMonth(YearMonth.now().toString());
-
-        // 1) 금액 추출: "4,500원", "5400원"
-        Pattern p = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원");
-        Matcher m = p.matcher(rawText);
-        if (m.find()) {
-            try {
-                tr.setAmount(Integer.parseInt(m.group(1).replace(",", "")));
-            } catch (NumberFormatException ignore) {}
-        }
+        return ruleParser.parse(rawText);
+    }
 
-        // 2) 가맹점 추정 (아주 단순 버전)
-        String merchant = "Unknown";
-        if (rawText.contains("스타벅스")) merchant = "스타벅스";
-        else if (rawText.contains("배달의민족")) merchant = "배달의민족";
-        else if (rawText.contains("요기요")) merchant = "요기요";
-        else if (rawText.contains("CU") || rawText.contains("GS25")) merchant = "편의점";
-        tr.setMerchant(merchant);
-
-        // 3) 결제수단 추정
-        String pm = "Unknown";
-        if (rawText.contains("카카오페이")) pm = "KakaoPay";
-        else if (rawText.contains("네이버페이")) pm = "NaverPay";
-        else if (rawText.contains("삼성페이")) pm = "SamsungPay";
-        else if (rawText.contains("토스")) pm = "TossPay";
-        else if (rawText.contains("카드")) pm = "Card";
-        tr.setPaymentMethod(pm);
-
-        // 4) 카테고리 추정
-        String base = rawText;
-        String category = "기타";
-        if (base.contains("스타벅스") || base.contains("커피") || base.contains("카페")) {
-            category = "카페/간식";
-        } else if (base.contains("편의점") || base.contains("마트") || base.contains("식품")) {
-            category = "식비/장보기";
-        } else if (base.contains("택시") || base.contains("버스") || base.contains("지하철")) {
-            category = "교통";
-        } else if (base.contains("배달") || base.contains("배달의민족") || base.contains("요기요")) {
-            category = "배달/외식";
-        }
-        tr.setCategory(category);
+    public TierStats getTierStats() {
+        long rule = (long) ruleTier.count();
+        long cache = (long) cacheTier.count();
+        long llm = (long) llmTier.count();
+        long fallback = (long) fallbackTier.count();
+        long total = rule + cache + llm + fallback;
+        return new TierStats(
+                tiered,
+                minConfidence,
+                rule,
+                cache,
+                llm,
+                fallback,
+                total == 0 ? 0.0 : (double) (rule + cache) / total
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ParseOutcome {
+        private TransactionRequest request;
+        private boolean reusable;   // GPT 정상 응답 / 확실한 규칙 파싱 / 캐시 결과 (fallback이면 false)
+    }
 
-        return tr;
+    @Getter
+    @AllArgsConstructor
+    public static class TierStats {
+        private boolean tiered;          // 규칙 파서 우선 사용 여부
+        private double minConfidence;    // 규칙 결과를 그대로 쓰는 최소 신뢰도
+        private long rule;               // 규칙 파서로 끝난 건수
+        private long cache;              // 파싱 결과 캐시로 끝난 건수
+        private long llm;                // GPT 응답으로 끝난 건수
+        private long fallback;           // GPT 실패 → 규칙 기반
+        private double llmAvoidedRate;   // GPT를 부르지 않은 비율 (rule + cache)
     }
 }
@@ -0,0 +1,160 @@
+package com.mm.backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mm.backend.entity.Periods;
+import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.repository.TransactionRepository.AmountBucket;
+import com.mm.backend.repository.TransactionRepository.DailyBucket;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 여러 달(최대 analytics.max-months) 소비 분석.
+ * - 합계/그룹핑은 전부 DB에서 (GROUP BY + projection, 엔티티 로딩 없음)
+ * - 결과는 (사용자, 기간)별로 메모리 캐시, 그 사용자의 그 기간에 거래가 저장되면 커밋 후 무효화
+ * - 캐시 값에는 계산 시작 시점의 사용자 세대(generation)를 같이 저장 →
+ *   계산 도중 무효화가 지나가서 예전 결과가 다시 들어가도 다음 조회에서 세대가 달라 다시 계산
+ */
+@Service
+public class AnalyticsService {
+
+    private final TransactionRepository transactionRepository;
+    private final Cache<Range, Computed> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final int maxMonths;
+    private final int topMerchants;
+
+    public AnalyticsService(TransactionRepository transactionRepository,
+                            @Value("${analytics.max-months:12}") int maxMonths,
+                            @Value("${analytics.top-merchants:20}") int topMerchants,
+                            @Value("${analytics.cache-size:500}") long cacheSize) {
+        this.transactionRepository = transactionRepository;
+        this.maxMonths = maxMonths;
+        this.topMerchants = topMerchants;
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    // 1) 기간 분석 ("2025-01" ~ "2025-06", 양 끝 포함)
+    @Transactional(readOnly = true)
+    public AnalyticsReport getReport(String userId, String fromMonth, String toMonth) {
+        Range range = new Range(userId, Periods.parse(fromMonth), Periods.parse(toMonth));
+        if (range.from > range.to) {
+            throw new IllegalArgumentException("from must not be after to: " + fromMonth + " ~ " + toMonth);
+        }
+        long months = ChronoUnit.MONTHS.between(toYearMonth(range.from), toYearMonth(range.to)) + 1;
+        if (months > maxMonths) {
+            throw new IllegalArgumentException("Range too long (max " + maxMonths + " months): " + months);
+        }
+
+        long generation = generationOf(range.userId);
+        Computed cached = cache.get(range, r -> new Computed(generation, compute(r)));
+        if (cached.generation >= generation) return cached.report;
+
+        // 무효화 전에 계산된 결과 → 다시 계산해서 교체 (그 사이 다른 조회가 새 결과를 넣었으면 그것 사용)
+        return cache.asMap().compute(range, (r, old) -> old != null && old.generation >= generation
+                ? old
+                : new Computed(generation, compute(r))).report;
+    }
+
+    // 2) 거래 저장이 커밋되면 그 사용자의, 그 달을 포함하는 기간 캐시 삭제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        generations.computeIfAbsent(event.getUserId(), k -> new AtomicLong()).incrementAndGet();
+        cache.asMap().keySet().removeIf(range -> range.userId.equals(event.getUserId())
+                && event.getPeriods().stream().anyMatch(range::contains));
+    }
+
+    // ---- 내부 구현 ----
+
+    private AnalyticsReport compute(Range range) {
+        AmountBucket total = transactionRepository.sumTotalBetween(range.userId, range.from, range.to).get(0);
+
+        Map<String, Long> monthly = new LinkedHashMap<>();
+        for (AmountBucket b : transactionRepository.sumByPeriodBetween(range.userId, range.from, range.to)) {
+            monthly.put(Periods.toMonth(Integer.parseInt(b.getBucket())), b.getTotal());
+        }
+
+        List<DailySpend> daily = new ArrayList<>();
+        for (DailyBucket b : transactionRepository.sumByDayBetween(range.userId, range.from, range.to)) {
+            daily.add(new DailySpend(b.getBucketDate(), b.getTotal(), b.getCnt()));
+        }
+
+        return new AnalyticsReport(
+                Periods.toMonth(range.from),
+                Periods.toMonth(range.to),
+                total.getTotal(),
+                total.getCnt(),
+                toMap(transactionRepository.sumByCategoryBetween(range.userId, range.from, range.to)),
+                toMap(transactionRepository.sumByMerchantBetween(range.userId, range.from, range.to, PageRequest.of(0, topMerchants))),
+                toMap(transactionRepository.sumByPaymentMethodBetween(range.userId, range.from, range.to)),
+                monthly,
+                daily
+        );
+    }
+
+    private long generationOf(String userId) {
+        return generations.computeIfAbsent(userId, k -> new AtomicLong()).get();
+    }
+
+    private static Map<String, Long> toMap(List<AmountBucket> rows) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (AmountBucket row : rows) {
+            String key = row.getBucket() != null ? row.getBucket() : SpendAggregateService.UNKNOWN_KEY;
+            result.merge(key, row.getTotal(), Long::sum);
+        }
+        return result;
+    }
+
+    private static YearMonth toYearMonth(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    record Range(String userId, int from, int to) {
+        boolean contains(Integer period) {
+            return period != null && from <= period && period <= to;
+        }
+    }
+
+    private record Computed(long generation, AnalyticsReport report) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AnalyticsReport {
+        private String from;
+        private String to;
+        private Long total;                        // 기간 합계
+        private Long count;                        // 거래 건수
+        private Map<String, Long> byCategory;      // 카테고리별 합계 (큰 순)
+        private Map<String, Long> byMerchant;      // 가맹점별 합계 (상위 N개)
+        private Map<String, Long> byPaymentMethod; // 결제수단별 합계 (큰 순)
+        private Map<String, Long> monthly;         // 월별 합계
+        private List<DailySpend> daily;            // 일별 소비 곡선
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class DailySpend {
+        private LocalDate date;
+        private Long amount;
+        private Long count;
+    }
+}
@@ -0,0 +1,279 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 여러 장의 캡처 / 텍스트를 한 번에 처리하는 파이프라인.
+ *   decode → OCR → parse → persist
+ * 단계마다 고정 크기 executor를 두어 동시 실행 수를 제한하고,
+ * 저장은 chunkSize 단위로 모아서 batch insert 한다.
+ * 결과는 항목별로 끝나는 대로 NDJSON 한 줄씩 내려보낸다
+ * (캡처 한 장에 결제가 여러 건이면 건마다 한 줄, subIndex로 구분).
+ */
+@Service
+public class BatchIngestService {
+
+    private final OcrImageDecoder ocrImageDecoder;
+    private final OcrEnginePool ocrEnginePool;
+    private final OcrService ocrService;
+    private final AiParserService aiParserService;
+    private final TransactionBatchWriter transactionBatchWriter;
+
+    private final int maxItems;
+    private final int chunkSize;
+    private final int ocrBusyRetries;
+
+    private final ExecutorService decodeExecutor;
+    private final ExecutorService ocrExecutor;
+    private final ExecutorService parseExecutor;
+    private final ExecutorService persistExecutor;
+
+    public BatchIngestService(OcrImageDecoder ocrImageDecoder,
+                              OcrEnginePool ocrEnginePool,
+                              OcrService ocrService,
+                              AiParserService aiParserService,
+                              TransactionBatchWriter transactionBatchWriter,
+                              WorkerThreads workerThreads,
+                              @Value("${batch.max-items:100}") int maxItems,
+                              @Value("${batch.insert-chunk-size:20}") int chunkSize,
+                              @Value("${batch.ocr-busy-retries:5}") int ocrBusyRetries,
+                              @Value("${batch.decode-concurrency:2}") int decodeConcurrency,
+                              @Value("${batch.ocr-concurrency:2}") int ocrConcurrency,
+                              @Value("${batch.parse-concurrency:4}") int parseConcurrency) {
+        this.ocrImageDecoder = ocrImageDecoder;
+        this.ocrEnginePool = ocrEnginePool;
+        this.ocrService = ocrService;
+        this.aiParserService = aiParserService;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+        this.ocrBusyRetries = ocrBusyRetries;
+        // 디코딩은 CPU 작업, 나머지(OCR 대기, GPT 호출, DB 저장)는 블로킹 I/O
+        this.decodeExecutor = workerThreads.cpuExecutor("batch-decode-", decodeConcurrency);
+        this.ocrExecutor = workerThreads.boundedIoExecutor("batch-ocr-", ocrConcurrency);
+        this.parseExecutor = workerThreads.boundedIoExecutor("batch-parse-", parseConcurrency);
+        this.persistExecutor = workerThreads.boundedIoExecutor("batch-persist-", 1);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (ExecutorService executor : List.of(decodeExecutor, ocrExecutor, parseExecutor, persistExecutor)) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 배치 시작. 항목 내용은 호출 스레드에서 미리 읽어 두어야 한다
+     * (요청이 끝난 뒤 multipart 임시 파일이 정리될 수 있음).
+     */
+    public void ingest(String userId, List<BatchItem> items, boolean useAi, ResponseBodyEmitter emitter) {
+        if (items.size() > maxItems) {
+            throw new BatchTooLargeException("한 번에 최대 " + maxItems + "건까지 처리할 수 있습니다");
+        }
+
+        BatchRun run = new BatchRun(userId, emitter);
+        List<CompletableFuture<Void>> pipelines = new ArrayList<>();
+
+        for (BatchItem item : items) {
+            CompletableFuture<String> text = item.getImage() != null
+                    ? CompletableFuture
+                        .supplyAsync(() -> decode(item), decodeExecutor)
+                        .thenApplyAsync(this::ocr, ocrExecutor)
+                    : CompletableFuture.completedFuture(item.getText());
+
+            pipelines.add(text
+                    .thenApplyAsync(t -> parse(t, useAi), parseExecutor)
+                    .handleAsync((parsed, error) -> {
+                        if (error != null) {
+                            run.fail(item, error);
+                        } else {
+                            for (int i = 0; i < parsed.size(); i++) run.buffer(item, i, parsed.get(i));
+                        }
+                        return null;
+                    }, persistExecutor));
+        }
+
+        CompletableFuture.allOf(pipelines.toArray(new CompletableFuture[0]))
+                .handleAsync((ignore, error) -> {
+                    run.finish();
+                    return null;
+                }, persistExecutor);
+    }
+
+    // ---- 단계별 처리 ----
+
+    private BufferedImage decode(BatchItem item) {
+        try {
+            return ocrImageDecoder.decode(item.getImage());
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    // OCR 큐가 가득 차면 Retry-After 만큼 기다렸다가 재시도 (배치는 503 대신 천천히 진행)
+    private String ocr(BufferedImage image) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return ocrEnginePool.recognize(image);
+            } catch (OcrBusyException e) {
+                if (attempt >= ocrBusyRetries) throw e;
+                sleepSeconds(e.getRetryAfterSeconds());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+
+    // 규칙 기반은 여러 결제가 이어진 캡처를 건별로 나눔 (GPT는 한 건)
+    private List<TransactionRequest> parse(String text, boolean useAi) {
+        return useAi
+                ? List.of(aiParserService.parseWithAI(text))
+                : ocrService.analyzeText(text);
+    }
+
+    private static void sleepSeconds(int seconds) {
+        try {
+            Thread.sleep(seconds * 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    /** 배치 1회 실행 상태 (persistExecutor 단일 스레드에서만 접근) */
+    private class BatchRun {
+        private final String userId;
+        private final ResponseBodyEmitter emitter;
+        private final List<BatchItem> pendingItems = new ArrayList<>();
+        private final List<Integer> pendingSubIndexes = new ArrayList<>();
+        private final List<TransactionRequest> pendingRequests = new ArrayList<>();
+        private int saved;
+        private int duplicates;
+        private int failed;
+
+        BatchRun(String userId, ResponseBodyEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void buffer(BatchItem item, int subIndex, TransactionRequest parsed) {
+            pendingItems.add(item);
+            pendingSubIndexes.add(subIndex);
+            pendingRequests.add(parsed);
+            if (pendingRequests.size() >= chunkSize) flush();
+        }
+
+        void fail(BatchItem item, Throwable error) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            failed++;
+            send(new BatchItemResult(item.getIndex(), null, item.getName(), "FAILED", null, cause.getMessage()));
+        }
+
+        void flush() {
+            if (pendingRequests.isEmpty()) return;
+            try {
+                // insertAll은 이미 저장된 (또는 이 묶음 안에서 겹친) 거래를 빼고 실제로 넣은 행만 돌려줌
+                Set<String> insertedKeys = new HashSet<>();
+                for (Transaction t : transactionBatchWriter.insertAll(userId, pendingRequests)) {
+                    if (t.getDedupKey() != null) insertedKeys.add(t.getDedupKey());
+                }
+                for (int i = 0; i < pendingItems.size(); i++) {
+                    BatchItem item = pendingItems.get(i);
+                    TransactionRequest req = pendingRequests.get(i);
+                    String key = dedupKeyOf(req);
+                    boolean inserted = key == null || insertedKeys.remove(key);
+                    if (inserted) saved++;
+                    else duplicates++;
+                    send(new BatchItemResult(item.getIndex(), pendingSubIndexes.get(i), item.getName(),
+                            inserted ? "SAVED" : "DUPLICATE", req, null));
+                }
+            } catch (Exception e) {
+                failed += pendingRequests.size();
+                for (int i = 0; i < pendingItems.size(); i++) {
+                    BatchItem item = pendingItems.get(i);
+                    send(new BatchItemResult(item.getIndex(), pendingSubIndexes.get(i), item.getName(), "FAILED", null, e.getMessage()));
+                }
+            } finally {
+                pendingItems.clear();
+                pendingSubIndexes.clear();
+                pendingRequests.clear();
+            }
+        }
+
+        // TransactionBatchWriter와 같은 중복 키 (원문 해시 → 사용자 | 원문 | 금액 | 가맹점 | 결제 시각)
+        private String dedupKeyOf(TransactionRequest req) {
+            String rawTextHash = req.getRawText() != null && !req.getRawText().isEmpty()
+                    ? RawTextStore.hashOf(req.getRawText()) : null;
+            return TransactionService.dedupKeyOf(userId, rawTextHash, req);
+        }
+
+        void finish() {
+            flush();
+            send(new BatchSummary(saved, duplicates, failed));
+            emitter.complete();
+        }
+
+        private void send(Object line) {
+            try {
+                emitter.send(line, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 끊김 → 처리는 계속 진행
+            }
+        }
+    }
+
+    // ==== DTO ====
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchItem {
+        private int index;
+        private String name;   // 파일명 (텍스트 항목은 "text-N")
+        private byte[] image;  // 이미지 항목
+        private String text;   // 텍스트 항목
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchItemResult {
+        private int index;
+        private Integer subIndex; // 항목 안의 결제 순번 (0부터, 항목 자체가 실패하면 null)
+        private String name;
+        private String status; // SAVED, DUPLICATE (이미 저장된 거래), FAILED
+        private TransactionRequest transaction;
+        private String error;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class BatchSummary {
+        private int saved;
+        private int duplicates;
+        private int failed;
+    }
+}
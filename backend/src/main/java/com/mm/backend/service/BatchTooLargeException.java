@@ -0,0 +1,9 @@
+package com.mm.backend.service;
+
+/** 일괄 분석 항목 수가 batch.max-items를 넘을 때 */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
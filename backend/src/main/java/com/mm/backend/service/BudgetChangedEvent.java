@@ -0,0 +1,21 @@
+package com.mm.backend.service;
+
+/** 월 예산 금액이 바뀐 뒤 발행 (userId: 소유 사용자, period: yyyyMM) */
+public class BudgetChangedEvent {
+
+    private final String userId;
+    private final int period;
+
+    public BudgetChangedEvent(String userId, int period) {
+        this.userId = userId;
+        this.period = period;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
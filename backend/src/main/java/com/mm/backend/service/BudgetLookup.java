@@ -0,0 +1,31 @@
+package com.mm.backend.service;
+
+import java.util.Optional;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.mm.backend.config.Caches;
+import com.mm.backend.entity.Budget;
+import com.mm.backend.entity.Periods;
+import com.mm.backend.repository.BudgetRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 월 예산 조회 (읽기 전용, 캐시).
+ * 예산은 한 달에 한 번 정도만 바뀌므로 상태 조회마다 DB를 읽지 않는다.
+ * 반환된 Budget은 캐시와 공유되므로 수정하지 말 것 (수정은 BudgetService.setBudget에서 DB로).
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetLookup {
+
+    private final BudgetRepository budgetRepository;
+
+    // 같은 키로 동시에 미적중하면 한 요청만 DB 조회, 나머지는 그 결과를 기다림 (sync)
+    @Cacheable(cacheNames = Caches.BUDGETS, key = "T(com.mm.backend.config.Caches).key(#userId, #month)", sync = true)
+    public Optional<Budget> find(String userId, String month) {
+        return budgetRepository.findByUserIdAndPeriod(userId, Periods.parse(month));
+    }
+}
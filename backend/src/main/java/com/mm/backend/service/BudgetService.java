@@ -1,43 +1,55 @@
 package com.mm.backend.service;
 
 import com.mm.backend.entity.Budget;
-import com.mm.backend.entity.Transaction;
+import com.mm.backend.entity.Periods;
 import com.mm.backend.repository.BudgetRepository;
-import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.service.SpendAggregateService.MonthSummary;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
+    private final BudgetLookup budgetLookup;
+    private final SpendAggregateService spendAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 1) 예산 설정
-    public Budget setBudget(String month, Integer amount) {
-        Budget budget = budgetRepository.findByMonth(month)
-                .orElseGet(() -> Budget.builder().month(month).build());
+    // 1) 예산 설정 (캐시는 BudgetChangedEvent로 삭제)
+    public Budget setBudget(String userId, String month, Integer amount) {
+        Budget budget = budgetRepository.findByUserIdAndPeriod(userId, Periods.parse(month))
+                .orElseGet(() -> Budget.builder().userId(userId).month(month).build());
 
         budget.setAmount(amount);
 
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(userId, saved.getPeriod()));
+        return saved;
     }
 
     // 2) 예산 상태 조회
-    public BudgetStatus getBudgetStatus(String month) {
-        Budget budget = budgetRepository.findByMonth(month)
+    public BudgetStatus getBudgetStatus(String userId, String month) {
+        return findBudgetStatus(userId, month)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not set for month: " + month));
+    }
+
+    // 2-1) 예산 상태 조회 (예산이 없으면 empty)
+    public Optional<BudgetStatus> findBudgetStatus(String userId, String month) {
+        return budgetLookup.find(userId, month).map(this::toStatus);
+    }
 
-        List<Transaction> transactions = transactionRepository.findByMonth(month);
+    private BudgetStatus toStatus(Budget budget) {
+        String month = Periods.toMonth(budget.getPeriod());
 
-        int spent = transactions.stream()
-                .mapToInt(Transaction::getAmount)
-                .sum();
+        // 거래 전체를 읽지 않고 미리 집계된 월 합계 사용 (캐시)
+        int spent = Math.toIntExact(spendAggregateService.getSummary(budget.getUserId(), month).getTotal());
 
         int remaining = budget.getAmount() - spent;
         double progress = budget.getAmount() == 0
@@ -53,6 +65,17 @@ public class BudgetService {
         );
     }
 
+    // 3) 카테고리 / 결제수단별 소비 내역
+    public SpendBreakdown getBreakdown(String userId, String month) {
+        MonthSummary summary = spendAggregateService.getSummary(userId, month);
+        return new SpendBreakdown(
+                month,
+                summary.getTotal(),
+                summary.getByCategory(),
+                summary.getByPaymentMethod()
+        );
+    }
+
     @Getter
     @AllArgsConstructor
     public static class BudgetStatus {
@@ -62,4 +85,13 @@ public class BudgetService {
         private Integer remaining;  // 남은 금액
         private Double progress;    // 사용 비율 (0.0 ~ 1.0)
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SpendBreakdown {
+        private String month;
+        private Long total;                        // 월 합계
+        private Map<String, Long> byCategory;      // 카테고리별 합계
+        private Map<String, Long> byPaymentMethod; // 결제수단별 합계
+    }
 }
@@ -0,0 +1,226 @@
+package com.mm.backend.service;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.entity.Periods;
+import com.mm.backend.service.BudgetService.BudgetStatus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 월 예산 상태 실시간 전송 (SSE).
+ * - 거래 저장 / 예산 변경이 커밋되면 그 (사용자, 달)을 dirty로 표시
+ * - window-ms 동안 모인 변경은 달마다 한 번만 계산해서 구독자 전체에 전송 (일괄 저장 시 폭주 방지)
+ * - 연결마다 스레드를 잡지 않으므로 대기 중인 구독자가 많아도 됨 (heartbeat로 끊긴 연결 정리)
+ * - 실제 전송은 별도 스레드 풀(send-threads개)에서 연결마다 한 번에 하나씩 (느린 클라이언트가 타이머 / 다른 구독자를 막지 않음)
+ *   전송 중에 새 상태가 오면 최신 것만 남기고, stall-ms 넘게 전송이 끝나지 않는 연결은 구독에서 뺌
+ */
+@Slf4j
+@Service
+public class BudgetStreamService {
+
+    static final String EVENT_NAME = "budget-status";
+    private static final Object PING = new Object();
+
+    private final BudgetService budgetService;
+    private final long timeoutMs;
+    private final long windowMs;
+    private final long stallNanos;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService sender;
+
+    // (사용자, period) → 구독 중인 연결
+    private final Map<Key, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // 전송 대기 중인 (사용자, 달) (this로 동기화)
+    private final Set<Key> dirty = new LinkedHashSet<>();
+    private boolean flushScheduled;
+
+    public BudgetStreamService(BudgetService budgetService,
+                               WorkerThreads workerThreads,
+                               @Value("${budget.stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${budget.stream.window-ms:300}") long windowMs,
+                               @Value("${budget.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                               @Value("${budget.stream.send-threads:4}") int sendThreads,
+                               @Value("${budget.stream.stall-ms:10000}") long stallMs) {
+        this.budgetService = budgetService;
+        this.timeoutMs = timeoutMs;
+        this.windowMs = windowMs;
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMs);
+        this.sender = workerThreads.boundedIoExecutor("budget-stream-send-", sendThreads);
+        this.timer = Executors.newSingleThreadScheduledExecutor(WorkerThreads.platform("budget-stream-"));
+        this.timer.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    // 1) 구독 시작 (현재 상태를 먼저 한 번 보냄)
+    public SseEmitter subscribe(String userId, String month) {
+        Key key = new Key(userId, Periods.parse(month));
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(key, emitter);
+
+        subscribers.compute(key, (k, set) -> {
+            if (set == null) set = new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        budgetService.findBudgetStatus(userId, month).ifPresent(subscriber::offer);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // 2) 변경 알림 (커밋 후)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        markDirty(event.getUserId(), event.getPeriods());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        markDirty(event.getUserId(), Set.of(event.getPeriod()));
+    }
+
+    // ---- 내부 구현 ----
+
+    private void markDirty(String userId, Set<Integer> periods) {
+        synchronized (this) {
+            for (Integer period : periods) {
+                if (period == null) continue;
+                Key key = new Key(userId, period);
+                if (subscribers.containsKey(key)) dirty.add(key);
+            }
+            if (dirty.isEmpty() || flushScheduled) return;
+            flushScheduled = true;
+        }
+        timer.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        Set<Key> keys;
+        synchronized (this) {
+            keys = new LinkedHashSet<>(dirty);
+            dirty.clear();
+            flushScheduled = false;
+        }
+
+        for (Key key : keys) {
+            Set<Subscriber> set = subscribers.get(key);
+            if (set == null || set.isEmpty()) continue;
+            try {
+                Optional<BudgetStatus> status = budgetService.findBudgetStatus(key.userId(), Periods.toMonth(key.period()));
+                status.ifPresent(s -> set.forEach(subscriber -> subscriber.offer(s)));
+            } catch (Exception e) {
+                log.warn("budget status push failed, user={}, period={}", key.userId(), key.period(), e);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::ping));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** 연결 하나: 보낼 것은 최신 한 건만 보관, 전송은 sender에서 한 번에 하나씩 */
+    private final class Subscriber {
+        private final Key key;
+        private final SseEmitter emitter;
+        private final AtomicReference<Object> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        Subscriber(Key key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void offer(BudgetStatus status) {
+            pending.set(status);
+            drain();
+        }
+
+        // 보낼 상태가 이미 있으면 그것으로 충분 (heartbeat 대신)
+        void ping() {
+            pending.compareAndSet(null, PING);
+            drain();
+        }
+
+        private void drain() {
+            if (!sending.compareAndSet(false, true)) {
+                if (System.nanoTime() - sendStartedAt > stallNanos) {
+                    log.debug("budget stream send stalled, dropping subscriber, user={}, period={}", key.userId(), key.period());
+                    unsubscribe(this); // 막힌 전송은 연결 timeout / 컨테이너 쓰기 timeout으로 정리됨
+                }
+                return;
+            }
+            sendStartedAt = System.nanoTime();
+            try {
+                sender.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                sending.set(false); // 종료 중
+            }
+        }
+
+        private void run() {
+            try {
+                Object next;
+                while ((next = pending.getAndSet(null)) != null) {
+                    sendStartedAt = System.nanoTime();
+                    if (next == PING) emitter.send(SseEmitter.event().comment("ping"));
+                    else emitter.send(SseEmitter.event().name(EVENT_NAME).data(next, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // 마지막 확인과 sending 해제 사이에 들어온 것
+            if (pending.get() != null) drain();
+        }
+    }
+
+    private record Key(String userId, int period) {
+    }
+}
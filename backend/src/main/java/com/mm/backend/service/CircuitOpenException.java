@@ -0,0 +1,9 @@
+package com.mm.backend.service;
+
+/** 서킷 브레이커가 열려 있어 OpenAI를 호출하지 않았을 때 */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException() {
+        super("OpenAI circuit open");
+    }
+}
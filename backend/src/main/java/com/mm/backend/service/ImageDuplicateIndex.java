@@ -0,0 +1,331 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mm.backend.entity.ImageFingerprint;
+import com.mm.backend.repository.ImageFingerprintRepository;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 결제 캡처를 다시 OCR + GPT에 보내지 않도록 하는 이미지 지문 인덱스.
+ * - 지문: 디코딩한 흑백 이미지의 dHash (16x17 칸 평균 밝기의 좌우 비교 → 256비트) + 픽셀 SHA-256
+ * - 픽셀 해시까지 같으면 같은 캡처 → OCR / GPT 모두 생략
+ * - dHash 해밍 거리 max-distance 이하면 거의 같은 캡처 후보 → OCR은 하고, 새 텍스트에 이전 결과의
+ *   금액 (가맹점을 알면 가맹점도) 이 그대로 있을 때만 GPT 생략
+ *   (같은 앱 화면 배치의 다른 결제는 dHash가 가까우므로 dHash만으로 판단하면 새 결제를 잃음)
+ * - 결과 JSON에는 원문을 넣지 않고 원문 해시만 저장 (원문은 RawTextStore 보관 기간을 따름)
+ * - 1차: 메모리 (사용자별로 처음 조회할 때 DB에서 적재), 2차: DB (재시작 후에도 유지)
+ */
+@Slf4j
+@Component
+public class ImageDuplicateIndex {
+
+    // 세로 칸 수 (가로는 +1 칸을 만들어 이웃끼리 비교 → GRID * GRID 비트)
+    private static final int GRID = 16;
+    private static final int WORDS = GRID * GRID / 64;
+
+    private final ImageFingerprintRepository fingerprintRepository;
+    private final RawTextStore rawTextStore;
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+    private final Cache<String, UserIndex> users;
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int maxPerUser;
+    private final int windowDays;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder nearRejected = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ImageDuplicateIndex(ImageFingerprintRepository fingerprintRepository,
+                               RawTextStore rawTextStore,
+                               @Value("${ocr.dedup.enabled:true}") boolean enabled,
+                               @Value("${ocr.dedup.max-distance:4}") int maxDistance,
+                               @Value("${ocr.dedup.max-per-user:2000}") int maxPerUser,
+                               @Value("${ocr.dedup.max-users:10000}") long maxUsers,
+                               @Value("${ocr.dedup.window-days:30}") int windowDays) {
+        this.fingerprintRepository = fingerprintRepository;
+        this.rawTextStore = rawTextStore;
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.maxPerUser = maxPerUser;
+        this.windowDays = windowDays;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    /** 이미지 지문 (dHash: 거의 같은 캡처 후보, contentHash: 같은 캡처) */
+    public record Fingerprint(long[] hash, String contentHash) {}
+
+    /** 조회 결과 (exact=false면 OCR 후 confirm으로 확인해야 하는 후보) */
+    public record Match(TransactionRequest request, boolean exact) {}
+
+    /** 1) 디코딩된 흑백 이미지 → 지문 */
+    public static Fingerprint fingerprint(BufferedImage image) {
+        return new Fingerprint(dHash(image), contentHash(image));
+    }
+
+    // dHash 256비트
+    static long[] dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[][] sum = new long[GRID][GRID + 1];
+        long[][] count = new long[GRID][GRID + 1];
+
+        int[] colOf = new int[width];
+        for (int x = 0; x < width; x++) {
+            colOf[x] = (int) ((long) x * (GRID + 1) / width);
+        }
+
+        // 한 행씩 읽어 칸별 밝기 합 (OcrImageDecoder 결과는 TYPE_BYTE_GRAY → band 0)
+        Raster raster = image.getRaster();
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            int r = (int) ((long) y * GRID / height);
+            raster.getSamples(0, y, width, 1, 0, row);
+            for (int x = 0; x < width; x++) {
+                sum[r][colOf[x]] += row[x];
+                count[r][colOf[x]]++;
+            }
+        }
+
+        // 왼쪽 칸이 오른쪽 칸보다 밝으면 1 (평균끼리 비교, 나눗셈 대신 교차 곱)
+        long[] hash = new long[WORDS];
+        for (int r = 0; r < GRID; r++) {
+            for (int c = 0; c < GRID; c++) {
+                if (sum[r][c] * count[r][c + 1] > sum[r][c + 1] * count[r][c]) {
+                    int bit = r * GRID + c;
+                    hash[bit / 64] |= 1L << (bit % 64);
+                }
+            }
+        }
+        return hash;
+    }
+
+    // 디코딩된 픽셀 전체의 SHA-256 (크기 포함)
+    static String contentHash(BufferedImage image) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            int width = image.getWidth();
+            int height = image.getHeight();
+            digest.update(ByteBuffer.allocate(8).putInt(width).putInt(height).array());
+            Raster raster = image.getRaster();
+            int[] row = new int[width];
+            byte[] bytes = new byte[width];
+            for (int y = 0; y < height; y++) {
+                raster.getSamples(0, y, width, 1, 0, row);
+                for (int x = 0; x < width; x++) {
+                    bytes[x] = (byte) row[x];
+                }
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static int distance(long[] a, long[] b) {
+        int d = 0;
+        for (int i = 0; i < WORDS; i++) {
+            d += Long.bitCount(a[i] ^ b[i]);
+        }
+        return d;
+    }
+
+    /** 2) 같은 사용자가 올린 같은 캡처 (또는 거의 같은 캡처 후보) 의 파싱 결과 */
+    public Optional<Match> find(String userId, Fingerprint fingerprint) {
+        if (!enabled) return Optional.empty();
+
+        Optional<Entry> entry = users.get(userId, this::load).match(fingerprint, maxDistance);
+        if (entry.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        try {
+            TransactionRequest req = mapper.readValue(entry.get().result(), TransactionRequest.class);
+            // 원문은 보관소에서 복원 (같은 원문이면 저장 시 중복 키도 같음, 보관 기간이 지났으면 null)
+            req.setRawText(rawTextStore.load(entry.get().rawTextHash()).orElse(null));
+            boolean exact = fingerprint.contentHash().equals(entry.get().fingerprint().contentHash());
+            if (exact) hits.increment();
+            return Optional.of(new Match(req, exact));
+        } catch (JsonProcessingException e) {
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 2-1) 거의 같은 캡처 후보 확인 - 새 OCR 텍스트에 이전 결과의 금액이 있고,
+     * 가맹점을 알고 있으면 가맹점도 있을 때만 같은 결제로 봄 (같은 화면 배치의 다른 결제 구분)
+     */
+    public boolean confirm(Match match, String text) {
+        TransactionRequest req = match.request();
+        boolean same = text != null
+                && req.getAmount() != null
+                && RuleParser.extractAmounts(text).contains(req.getAmount())
+                && merchantAppears(req.getMerchant(), text);
+        if (same) nearHits.increment();
+        else nearRejected.increment();
+        return same;
+    }
+
+    private static boolean merchantAppears(String merchant, String text) {
+        if (merchant == null || merchant.isBlank() || "Unknown".equals(merchant)) return true;
+        return compact(text).contains(compact(merchant));
+    }
+
+    private static String compact(String s) {
+        return s.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    /**
+     * 3) 새 캡처의 파싱 결과 기억 (저장 실패는 다음 업로드에서 OCR을 다시 할 뿐이므로 로그만).
+     * 원문은 RawTextStore에 두고 결과 JSON에서는 빼서 저장한다.
+     */
+    public void remember(String userId, Fingerprint fingerprint, TransactionRequest req) {
+        if (!enabled || req == null) return;
+
+        try {
+            long[] hash = fingerprint.hash();
+            String rawTextHash = rawTextStore.store(req.getRawText());
+            ObjectNode node = mapper.valueToTree(req);
+            node.remove("rawText");
+            String result = mapper.writeValueAsString(node);
+            fingerprintRepository.save(ImageFingerprint.builder()
+                    .userId(userId)
+                    .hash0(hash[0])
+                    .hash1(hash[1])
+                    .hash2(hash[2])
+                    .hash3(hash[3])
+                    .contentHash(fingerprint.contentHash())
+                    .result(result)
+                    .rawTextHash(rawTextHash)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            // 아직 메모리에 없는 사용자는 다음 조회 때 DB에서 함께 적재됨
+            UserIndex index = users.getIfPresent(userId);
+            if (index != null) index.add(new Entry(fingerprint, result, rawTextHash));
+        } catch (Exception e) {
+            log.warn("이미지 지문 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 4) window-days 지난 지문 정리 (매일 새벽 4시 30분)
+    @Scheduled(cron = "${ocr.dedup.purge-cron:0 30 4 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        int deleted = fingerprintRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(windowDays));
+        if (deleted > 0) {
+            users.invalidateAll();
+            log.info("이미지 지문 {}건 정리 ({}일 경과)", deleted, windowDays);
+        }
+        return deleted;
+    }
+
+    public Stats getStats() {
+        long hit = hits.sum();
+        long nearHit = nearHits.sum();
+        long rejected = nearRejected.sum();
+        long miss = misses.sum();
+        long total = hit + nearHit + rejected + miss;
+        return new Stats(
+                users.estimatedSize(),
+                hit,
+                nearHit,
+                rejected,
+                miss,
+                total == 0 ? 0.0 : (double) (hit + nearHit) / total
+        );
+    }
+
+    private UserIndex load(String userId) {
+        List<ImageFingerprint> rows = fingerprintRepository.findByUserIdAndCreatedAtAfterOrderByIdDesc(
+                userId, LocalDateTime.now().minusDays(windowDays), PageRequest.of(0, maxPerUser));
+        UserIndex index = new UserIndex(maxPerUser);
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            ImageFingerprint f = rows.get(i);
+            long[] hash = {f.getHash0(), f.getHash1(), f.getHash2(), f.getHash3()};
+            index.add(new Entry(new Fingerprint(hash, f.getContentHash()), f.getResult(), f.getRawTextHash()));
+        }
+        return index;
+    }
+
+    // 지문 + 결과 JSON (rawText 제외) + 원문 해시
+    private record Entry(Fingerprint fingerprint, String result, String rawTextHash) {}
+
+    /** 사용자 한 명의 최근 지문 (최신순, maxPerUser개까지) */
+    private static class UserIndex {
+        private final int capacity;
+        private final List<Entry> entries = new ArrayList<>();
+
+        UserIndex(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void add(Entry entry) {
+            entries.add(0, entry);
+            if (entries.size() > capacity) {
+                entries.remove(entries.size() - 1);
+            }
+        }
+
+        // 픽셀 해시가 같은 최신 것, 없으면 dHash 거리가 가장 가까운 후보 (max-distance 이하)
+        synchronized Optional<Entry> match(Fingerprint fingerprint, int maxDistance) {
+            Entry nearest = null;
+            int nearestDistance = maxDistance + 1;
+            for (Entry entry : entries) {
+                if (fingerprint.contentHash().equals(entry.fingerprint().contentHash())) {
+                    return Optional.of(entry);
+                }
+                int d = distance(entry.fingerprint().hash(), fingerprint.hash());
+                if (d < nearestDistance) {
+                    nearest = entry;
+                    nearestDistance = d;
+                }
+            }
+            return Optional.ofNullable(nearest);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private long users;        // 메모리에 적재된 사용자 수
+        private long hits;         // 같은 캡처(픽셀까지 같음)로 판단해 OCR / GPT를 건너뛴 수
+        private long nearHits;     // 거의 같은 캡처 + 금액 / 가맹점 일치로 GPT를 건너뛴 수
+        private long nearRejected; // 거의 같은 캡처였지만 금액 / 가맹점이 달라 새로 파싱한 수
+        private long misses;       // 새 캡처
+        private double hitRate;    // 적중률 (hits + nearHits)
+    }
+}
@@ -0,0 +1,9 @@
+package com.mm.backend.service;
+
+/** 업로드 이미지가 허용 크기(바이트 또는 픽셀 수)를 넘을 때 */
+public class ImageTooLargeException extends RuntimeException {
+
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
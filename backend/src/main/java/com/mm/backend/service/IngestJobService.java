@@ -0,0 +1,263 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.entity.IngestJob;
+import com.mm.backend.entity.IngestJob.Kind;
+import com.mm.backend.entity.IngestJob.Status;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.IngestJobRepository;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 분석 + 저장 (DB 큐).
+ * - submit: 작업을 PENDING으로 저장하고 바로 id 반환
+ * - poll: 주기적으로 처리할 작업을 가져가서(claim) OCR → AI 파싱 → 저장
+ * - 실패하면 지수 백오프로 재시도, max-attempts를 넘으면 FAILED
+ * - 처리 중 서버가 죽어도 lock이 만료되면 다시 가져감
+ * - 끝난 작업(DONE / FAILED)은 이미지 / 텍스트를 바로 비우고, retention-days 뒤에 행도 삭제
+ * 거래 저장은 dedupKey로 중복을 막으므로 같은 작업이 두 번 실행돼도 거래는 한 건
+ * (결제 시각을 못 읽은 거래는 작업 id를 sourceKey로 씀).
+ */
+@Slf4j
+@Service
+public class IngestJobService {
+
+    private final IngestJobRepository jobRepository;
+    private final OcrImageDecoder ocrImageDecoder;
+    private final OcrEnginePool ocrEnginePool;
+    private final AiParserService aiParserService;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAttempts;
+    private final long lockSeconds;
+    private final long backoffSeconds;
+    private final long maxImageBytes;
+    private final int retentionDays;
+
+    private final ExecutorService workers;
+    private final Semaphore slots;
+
+    public IngestJobService(IngestJobRepository jobRepository,
+                            OcrImageDecoder ocrImageDecoder,
+                            OcrEnginePool ocrEnginePool,
+                            AiParserService aiParserService,
+                            TransactionService transactionService,
+                            TransactionTemplate transactionTemplate,
+                            WorkerThreads workerThreads,
+                            @Value("${ingest.concurrency:4}") int concurrency,
+                            @Value("${ingest.max-attempts:5}") int maxAttempts,
+                            @Value("${ingest.lock-seconds:120}") long lockSeconds,
+                            @Value("${ingest.backoff-seconds:5}") long backoffSeconds,
+                            @Value("${ocr.image.max-bytes:10485760}") long maxImageBytes,
+                            @Value("${ingest.retention-days:7}") int retentionDays) {
+        this.jobRepository = jobRepository;
+        this.ocrImageDecoder = ocrImageDecoder;
+        this.ocrEnginePool = ocrEnginePool;
+        this.aiParserService = aiParserService;
+        this.transactionService = transactionService;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = maxAttempts;
+        this.lockSeconds = lockSeconds;
+        this.backoffSeconds = backoffSeconds;
+        this.maxImageBytes = maxImageBytes;
+        this.retentionDays = retentionDays;
+        this.workers = workerThreads.boundedIoExecutor("ingest-worker-", concurrency);
+        this.slots = new Semaphore(concurrency);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // 1) 이미지 작업 등록 (DB에 그대로 저장되므로 ocr.image.max-bytes를 넘으면 등록 전에 거절)
+    public JobStatus submitImage(String userId, byte[] image, String idempotencyKey) {
+        if (image.length > maxImageBytes) {
+            throw new ImageTooLargeException("이미지 용량 초과: " + image.length + " bytes (최대 " + maxImageBytes + ")");
+        }
+        return submit(userId, Kind.IMAGE, image, null, idempotencyKey);
+    }
+
+    // 2) 텍스트 작업 등록
+    public JobStatus submitText(String userId, String text, String idempotencyKey) {
+        return submit(userId, Kind.TEXT, null, text, idempotencyKey);
+    }
+
+    // 3) 작업 상태 조회 (다른 사용자의 작업은 없는 것으로)
+    public Optional<JobStatus> getStatus(String userId, String id) {
+        return jobRepository.findById(id)
+                .filter(job -> userId.equals(job.getUserId()))
+                .map(JobStatus::of);
+    }
+
+    // 4) 처리할 작업 가져가기 (빈 워커 수만큼)
+    @Scheduled(fixedDelayString = "${ingest.poll-ms:500}")
+    public void poll() {
+        int free = slots.availablePermits();
+        if (free == 0) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> ids = jobRepository.findClaimable(now, Status.PENDING, Status.RUNNING, PageRequest.of(0, free));
+        for (String id : ids) {
+            if (!slots.tryAcquire()) return;
+            Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(
+                    id, now, now.plusSeconds(lockSeconds), Status.PENDING, Status.RUNNING));
+            if (claimed == null || claimed == 0) {
+                slots.release(); // 다른 워커가 먼저 가져감
+                continue;
+            }
+            workers.execute(() -> {
+                try {
+                    process(id);
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    // 5) retention-days 지난 끝난 작업 정리 (매일 새벽 4시 45분, 0이면 보관)
+    @Scheduled(cron = "${ingest.purge-cron:0 45 4 * * *}")
+    @Transactional
+    public int purgeFinished() {
+        if (retentionDays <= 0) return 0;
+
+        int deleted = jobRepository.deleteFinishedBefore(List.of(Status.DONE, Status.FAILED),
+                LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("끝난 분석 작업 {}건 정리 ({}일 경과)", deleted, retentionDays);
+        }
+        return deleted;
+    }
+
+    // ---- 내부 구현 ----
+
+    private JobStatus submit(String userId, Kind kind, byte[] image, String text, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<IngestJob> existing = jobRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (existing.isPresent()) return JobStatus.of(existing.get());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        IngestJob job = IngestJob.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .status(Status.PENDING)
+                .kind(kind)
+                .idempotencyKey(idempotencyKey)
+                .image(image)
+                .text(text)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        try {
+            return JobStatus.of(jobRepository.saveAndFlush(job));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 Idempotency-Key로 동시에 들어온 요청
+            return jobRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey).map(JobStatus::of).orElseThrow(() -> e);
+        }
+    }
+
+    private void process(String id) {
+        IngestJob job = jobRepository.findById(id).orElse(null);
+        if (job == null) return;
+
+        try {
+            TransactionRequest parsed = parse(job);
+            // 결제 시각을 못 읽었으면 이 작업으로만 중복을 막음 (재실행해도 같은 거래)
+            if (parsed.getDatetime() == null && parsed.getSourceKey() == null) {
+                parsed.setSourceKey("job:" + job.getId());
+            }
+            Transaction saved = transactionService.addTransaction(job.getUserId(), parsed);
+
+            job.setStatus(Status.DONE);
+            job.setTransactionId(saved.getId());
+            job.setLastError(null);
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            LocalDateTime now = LocalDateTime.now();
+            job.setLastError(truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage()));
+
+            if (cause instanceof OcrBusyException busy) {
+                // OCR 큐가 찼을 뿐이므로 시도 횟수에 넣지 않음
+                job.setAttempts(job.getAttempts() - 1);
+                job.setStatus(Status.PENDING);
+                job.setNextAttemptAt(now.plusSeconds(busy.getRetryAfterSeconds()));
+            } else if (cause instanceof ImageTooLargeException || job.getAttempts() >= maxAttempts) {
+                job.setStatus(Status.FAILED);
+            } else {
+                job.setStatus(Status.PENDING);
+                job.setNextAttemptAt(now.plusSeconds(backoffSeconds << Math.min(job.getAttempts() - 1, 10)));
+            }
+        }
+
+        // 다시 처리하지 않는 작업은 원본(이미지 / 텍스트)을 들고 있지 않음
+        if (job.getStatus() == Status.DONE || job.getStatus() == Status.FAILED) {
+            job.setImage(null);
+            job.setText(null);
+        }
+
+        job.setLockedUntil(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private TransactionRequest parse(IngestJob job) throws Exception {
+        if (job.getKind() == Kind.TEXT) {
+            return aiParserService.parseWithAI(job.getText());
+        }
+        BufferedImage img = ocrImageDecoder.decode(job.getImage());
+        String text = ocrEnginePool.recognize(img);
+        return aiParserService.parseWithAI(text);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    // ==== DTO ====
+
+    @Getter
+    @AllArgsConstructor
+    public static class JobStatus {
+        private String id;
+        private Status status;
+        private Integer attempts;
+        private Long transactionId; // DONE일 때
+        private String error;       // 마지막 실패 사유
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        static JobStatus of(IngestJob job) {
+            return new JobStatus(job.getId(), job.getStatus(), job.getAttempts(), job.getTransactionId(),
+                    job.getLastError(), job.getCreatedAt(), job.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mm.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GPT가 토큰 조각으로 보내는 JSON 객체를 읽으면서 최상위 필드가 완성될 때마다 알려줌.
+ * - 첫 '{' 전의 글자(```json 코드 블록 표시 등)는 무시
+ * - 문자열 값은 닫는 따옴표에서 바로, 숫자 / true 등은 뒤의 ',' 또는 '}'에서 완성
+ * - 중첩 객체 / 배열 값은 통째로 완성된 뒤 한 번
+ * 한 스트림에서만 쓰고, 조각은 순서대로 한 스레드에서 넣는다.
+ */
+final class JsonFieldStream {
+
+    @FunctionalInterface
+    interface FieldHandler {
+        void field(String name, JsonNode value);
+    }
+
+    private final ObjectMapper mapper;
+    private final FieldHandler handler;
+
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder value = new StringBuilder();
+    private String currentKey;
+
+    private boolean started;      // 최상위 '{'를 만남
+    private boolean done;         // 최상위 '}'를 만남
+    private boolean readingKey;
+    private boolean readingValue;
+    private boolean inString;     // 값 안의 문자열
+    private boolean escape;
+    private int nesting;          // 값 안의 {} / [] 깊이
+
+    JsonFieldStream(ObjectMapper mapper, FieldHandler handler) {
+        this.mapper = mapper;
+        this.handler = handler;
+    }
+
+    void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !done; i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    private void accept(char c) {
+        if (!started) {
+            if (c == '{') started = true;
+            return;
+        }
+
+        // 1) 키 문자열
+        if (readingKey) {
+            if (escape) {
+                escape = false;
+                key.append(c);
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                readingKey = false;
+                currentKey = key.toString();
+                key.setLength(0);
+            } else {
+                key.append(c);
+            }
+            return;
+        }
+
+        // 2) 키 / ':' / ',' 사이
+        if (!readingValue) {
+            if (c == '"' && currentKey == null) readingKey = true;
+            else if (c == ':' && currentKey != null) readingValue = true;
+            else if (c == '}') done = true;
+            return;
+        }
+
+        // 3) 값
+        if (inString) {
+            value.append(c);
+            if (escape) escape = false;
+            else if (c == '\\') escape = true;
+            else if (c == '"') {
+                inString = false;
+                if (nesting == 0) emit();
+            }
+            return;
+        }
+        if (nesting == 0 && (c == ',' || c == '}')) {
+            if (!value.isEmpty()) emit();
+            if (c == '}') done = true;
+            return;
+        }
+        if (value.isEmpty() && Character.isWhitespace(c)) return;
+
+        value.append(c);
+        if (c == '"') {
+            inString = true;
+        } else if (c == '{' || c == '[') {
+            nesting++;
+        } else if (c == '}' || c == ']') {
+            if (--nesting == 0) emit();
+        }
+    }
+
+    private void emit() {
+        try {
+            handler.field(currentKey, mapper.readTree(value.toString()));
+        } catch (Exception ignore) {
+            // 값이 JSON이 아니면 건너뜀 (최종 결과는 전체 응답으로 다시 파싱)
+        }
+        currentKey = null;
+        readingValue = false;
+        value.setLength(0);
+    }
+}
@@ -0,0 +1,166 @@
+package com.mm.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 짧은 시간(windowMs) 동안 들어온 파싱 요청을 최대 maxItems건까지 모아
+ * GPT 호출 한 번(JSON 배열 응답)으로 처리한 뒤 요청별로 결과를 나눠준다.
+ * 배치 import 시 요청 수를 줄여 429(rate limit)를 피하기 위함.
+ */
+@Component
+public class LlmBatcher {
+
+    private final OpenAiClient openAiClient;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxItems;
+
+    private final ScheduledExecutorService timer;
+
+    // 모으는 중인 요청 (this로 동기화)
+    private final List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public LlmBatcher(OpenAiClient openAiClient,
+                      @Value("${llm.batch.enabled:false}") boolean enabled,
+                      @Value("${llm.batch.window-ms:50}") long windowMs,
+                      @Value("${llm.batch.max-items:8}") int maxItems) {
+        this.openAiClient = openAiClient;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxItems = maxItems;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "llm-batch-timer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 파싱 요청 등록 → GPT 응답 중 이 텍스트에 해당하는 JSON 객체 (문자열) */
+    public CompletableFuture<String> submit(String rawText) {
+        Pending p = new Pending(rawText);
+        List<Pending> ready = null;
+
+        synchronized (this) {
+            pending.add(p);
+            if (pending.size() >= maxItems) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flushDue, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (ready != null) {
+            send(ready);
+        }
+        return p.result;
+    }
+
+    private void flushDue() {
+        List<Pending> ready;
+        synchronized (this) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+    }
+
+    private List<Pending> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<Pending> ready = new ArrayList<>(pending);
+        pending.clear();
+        return ready;
+    }
+
+    // 비동기 호출이므로 호출 스레드(타이머/요청 스레드)를 붙잡지 않음
+    private void send(List<Pending> batch) {
+        if (batch.size() == 1) {
+            Pending only = batch.get(0);
+            openAiClient.completeAsync(ParsePrompts.single(only.rawText))
+                    .whenComplete((content, error) -> {
+                        if (error != null) only.result.completeExceptionally(OpenAiClient.unwrap(error));
+                        else only.result.complete(content);
+                    });
+            return;
+        }
+
+        List<String> texts = batch.stream().map(p -> p.rawText).toList();
+        openAiClient.completeAsync(ParsePrompts.batch(texts))
+                .whenComplete((content, error) -> {
+                    if (error != null) {
+                        failAll(batch, OpenAiClient.unwrap(error));
+                    } else {
+                        fanOut(batch, content);
+                    }
+                });
+    }
+
+    private void fanOut(List<Pending> batch, String content) {
+        try {
+            JsonNode items = toArray(mapper.readTree(content));
+            if (items == null || items.size() != batch.size()) {
+                throw new IllegalStateException("GPT 배치 응답 개수 불일치: 요청 " + batch.size()
+                        + "건, 응답 " + (items == null ? 0 : items.size()) + "건");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(mapper.writeValueAsString(items.get(i)));
+            }
+        } catch (Exception e) {
+            failAll(batch, e);
+        }
+    }
+
+    private static void failAll(List<Pending> batch, Throwable error) {
+        for (Pending p : batch) {
+            p.result.completeExceptionally(error);
+        }
+    }
+
+    // [ {...}, {...} ] 또는 { "results": [ ... ] } 형태 모두 허용
+    private static JsonNode toArray(JsonNode root) {
+        if (root.isArray()) return root;
+        if (root.isObject() && root.size() == 1) {
+            JsonNode only = root.elements().next();
+            if (only.isArray()) return only;
+        }
+        return null;
+    }
+
+    private static class Pending {
+        private final String rawText;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Pending(String rawText) {
+            this.rawText = rawText;
+        }
+    }
+}
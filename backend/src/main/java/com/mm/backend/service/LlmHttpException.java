@@ -0,0 +1,27 @@
+package com.mm.backend.service;
+
+/** OpenAI가 2xx가 아닌 상태 코드로 응답했을 때 */
+public class LlmHttpException extends RuntimeException {
+
+    private final int statusCode;
+    private final String responseBody;
+
+    public LlmHttpException(int statusCode, String responseBody) {
+        super("OpenAI HTTP " + statusCode);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    // 4xx → 요청/키/한도 문제 (기존 HttpClientErrorException과 같은 분류)
+    public boolean isClientError() {
+        return statusCode >= 400 && statusCode < 500;
+    }
+}
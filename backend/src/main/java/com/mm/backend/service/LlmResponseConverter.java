@@ -0,0 +1,72 @@
+package com.mm.backend.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.config.Stages;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * GPT 응답(JSON) → TransactionRequest.
+ * 빠진 필드는 기본값으로 채우고, JSON이 아니면 응답 전체를 가맹점으로 저장.
+ * 상태가 없어서 여러 스레드에서 같이 써도 됨.
+ */
+@Slf4j
+public final class LlmResponseConverter {
+
+    private final ObjectMapper mapper;
+    private final ObservationRegistry observationRegistry;
+
+    public LlmResponseConverter(ObjectMapper mapper, ObservationRegistry observationRegistry) {
+        this.mapper = mapper;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public TransactionRequest convert(String rawText, String jsonText) {
+        return Observation.createNotStarted(Stages.LLM_JSON_PARSE, observationRegistry)
+                .observe(() -> toTransaction(rawText, jsonText));
+    }
+
+    private TransactionRequest toTransaction(String rawText, String jsonText) {
+        TransactionRequest tr = new TransactionRequest();
+        tr.setRawText(rawText);
+
+        try {
+            JsonNode json = mapper.readTree(jsonText);
+
+            if (json.has("amount")) tr.setAmount(json.path("amount").asInt());
+            if (json.has("merchant")) tr.setMerchant(json.path("merchant").asText());
+            if (json.has("paymentMethod")) tr.setPaymentMethod(json.path("paymentMethod").asText());
+            if (json.has("category")) tr.setCategory(json.path("category").asText());
+            if (json.has("month")) tr.setMonth(json.path("month").asText());
+
+            // 결제 시각을 못 읽으면 비워 둠 (저장 시각으로 채워짐, 재시도해도 dedupKey가 같도록)
+            if (json.has("datetime")) {
+                try {
+                    tr.setDatetime(LocalDateTime.parse(json.path("datetime").asText()));
+                } catch (Exception ignore) {
+                }
+            }
+
+            if (tr.getMonth() == null) {
+                tr.setMonth(YearMonth.now().toString());
+            }
+            if (tr.getMerchant() == null) tr.setMerchant("Unknown");
+            if (tr.getPaymentMethod() == null) tr.setPaymentMethod("Unknown");
+            if (tr.getCategory() == null) tr.setCategory("기타");
+
+        } catch (Exception e) {
+            log.warn("AI response is not JSON, storing whole response as merchant");
+            tr.setMerchant(jsonText);
+            tr.setMonth(YearMonth.now().toString());
+        }
+
+        return tr;
+    }
+}
@@ -0,0 +1,87 @@
+package com.mm.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mm.backend.config.Caches;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 예산 / 월 합계 / 월 거래 목록 캐시 관리.
+ * - 거래 저장, 예산 변경이 커밋된 뒤에 해당 (사용자, 달) 항목만 삭제
+ *   (커밋 전에 지우면 그 사이 조회가 이전 값을 다시 캐시할 수 있음)
+ * - 캐시별 적중률 조회 (Caffeine / Redis 모두)
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthCacheService {
+
+    private final CacheManager cacheManager;
+
+    // 1) 거래 저장 / 집계 재계산 → 월 합계, 월 거래 목록 삭제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        for (Integer period : event.getPeriods()) {
+            if (period == null) continue;
+            String key = Caches.key(event.getUserId(), period);
+            evict(Caches.MONTH_SUMMARIES, key);
+            evict(Caches.MONTH_TRANSACTIONS, key);
+        }
+    }
+
+    // 2) 예산 변경 → 월 예산 삭제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        evict(Caches.BUDGETS, Caches.key(event.getUserId(), event.getPeriod()));
+    }
+
+    // 3) 캐시별 적중률
+    public List<Stats> getStats() {
+        List<Stats> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeine) {
+                CacheStats s = caffeine.getNativeCache().stats();
+                result.add(Stats.of(name, caffeine.getNativeCache().estimatedSize(), s.hitCount(), s.missCount()));
+            } else if (cache instanceof RedisCache redis) {
+                CacheStatistics s = redis.getStatistics();
+                result.add(Stats.of(name, -1, s.getHits(), s.getMisses()));
+            }
+        }
+        return result;
+    }
+
+    // ---- 내부 구현 ----
+
+    private void evict(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) cache.evict(key);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private String name;
+        private long size;     // 항목 수 (Redis는 -1)
+        private long hits;
+        private long misses;
+        private double hitRate;
+
+        static Stats of(String name, long size, long hits, long misses) {
+            long total = hits + misses;
+            return new Stats(name, size, hits, misses, total == 0 ? 0.0 : (double) hits / total);
+        }
+    }
+}
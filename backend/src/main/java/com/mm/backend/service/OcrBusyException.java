@@ -0,0 +1,16 @@
+package com.mm.backend.service;
+
+/** OCR 작업 큐가 가득 찼을 때 (클라이언트는 retryAfterSeconds 후 재시도) */
+public class OcrBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public OcrBusyException(int retryAfterSeconds) {
+        super("OCR 작업이 많아 잠시 후 다시 시도해주세요");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
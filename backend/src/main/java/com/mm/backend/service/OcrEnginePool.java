@@ -0,0 +1,236 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mm.backend.config.Stages;
+import com.mm.backend.config.WorkerThreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 미리 초기화된 Tesseract 엔진 풀 + 고정 크기 OCR 워커.
+ * - 워커 수 == 엔진 수 → 워커가 엔진을 기다리는 일이 없고, 엔진은 한 번에 한 스레드만 사용
+ * - 자리(워커 + 대기 큐)가 모자라면 OcrBusyException (컨트롤러에서 503 + Retry-After)
+ * - 세로로 긴 이미지는 워커 수까지의 띠로 잘라 동시에 OCR 후 합침 (OcrStrips), 띠 자리는 한 번에 예약
+ */
+@Slf4j
+@Component
+public class OcrEnginePool {
+
+    private final String datapath;
+    private final String language;
+    private final int poolSize;
+    private final int queueCapacity;
+    private final int retryAfterSeconds;
+    private final boolean warmUp;
+    private final int tileHeight;
+    private final int tileOverlap;
+    private final int maxTiles;
+    private final ObservationRegistry observationRegistry;
+    private final Timer queueWaitTimer;
+
+    private BlockingQueue<PooledTesseract> engines;
+    private ThreadPoolExecutor workers;
+    // 실행 중 + 대기 중 작업 자리 (poolSize + queueCapacity), 띠 여러 개를 한 번에 예약
+    private Semaphore slots;
+
+    // 통계 (큐 대기 시간 vs OCR 시간)
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder ocrNanos = new LongAdder();
+
+    public OcrEnginePool(ObservationRegistry observationRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${ocr.tessdata-path}") String datapath,
+                         @Value("${ocr.language:kor+eng}") String language,
+                         @Value("${ocr.pool.size:2}") int poolSize,
+                         @Value("${ocr.pool.queue-capacity:16}") int queueCapacity,
+                         @Value("${ocr.pool.retry-after-seconds:3}") int retryAfterSeconds,
+                         @Value("${ocr.pool.warm-up:true}") boolean warmUp,
+                         @Value("${ocr.tile.height:1600}") int tileHeight,
+                         @Value("${ocr.tile.overlap:80}") int tileOverlap,
+                         @Value("${ocr.tile.max-tiles:8}") int maxTiles) {
+        // 겹침이 띠 높이의 절반 이상이면 빈 행이 없는 이미지에서 띠가 앞으로 나가지 못함
+        if (tileHeight > 0 && (tileOverlap < 0 || tileOverlap >= tileHeight / 2)) {
+            throw new IllegalArgumentException("ocr.tile.overlap must be in [0, ocr.tile.height / 2): " + tileOverlap);
+        }
+        this.datapath = datapath;
+        this.language = language;
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.warmUp = warmUp;
+        this.tileHeight = tileHeight;
+        this.tileOverlap = tileOverlap;
+        this.maxTiles = maxTiles;
+        this.observationRegistry = observationRegistry;
+        this.queueWaitTimer = Timer.builder(Stages.OCR_QUEUE)
+                .description("OCR 워커 큐 대기 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        engines = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            PooledTesseract engine = new PooledTesseract(datapath, language);
+            if (warmUp) {
+                try {
+                    engine.warmUp();
+                } catch (Throwable e) {
+                    // 로컬 환경에 Tesseract가 없을 수 있음 → 첫 요청 때 다시 시도
+                    log.warn("OCR 엔진 초기화 실패 (첫 요청 시 재시도): {}", e.getMessage());
+                }
+            }
+            engines.add(engine);
+        }
+
+        // OCR은 CPU 작업 → 가상 스레드 모드에서도 고정 개수의 플랫폼 스레드 사용
+        workers = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.platform("ocr-worker-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        slots = new Semaphore(poolSize + queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        for (PooledTesseract engine : engines) {
+            engine.close();
+        }
+    }
+
+    /** 1) 비동기 OCR (자리가 없으면 즉시 OcrBusyException, 긴 이미지는 띠별로 나눠 동시에 처리) */
+    public CompletableFuture<String> submit(BufferedImage image) {
+        // 띠는 워커 수까지만 (더 나눠도 빨라지지 않고 다른 요청의 큐 자리만 차지)
+        List<OcrStrips.Strip> strips = OcrStrips.split(image, tileHeight, tileOverlap, Math.min(maxTiles, poolSize));
+
+        // 띠 전부의 자리를 한 번에 예약 (모자라면 하나도 넣지 않고 거절)
+        if (!slots.tryAcquire(strips.size())) {
+            rejected.increment();
+            throw new OcrBusyException(retryAfterSeconds);
+        }
+
+        List<OcrTask> tasks = new ArrayList<>(strips.size());
+        try {
+            for (OcrStrips.Strip strip : strips) {
+                OcrTask task = new OcrTask(strip.image());
+                workers.execute(task);
+                tasks.add(task);
+            }
+        } catch (RejectedExecutionException e) {
+            // 끝난 작업이 자리를 반납한 직후 워커가 아직 다음 작업을 꺼내지 않은 순간 → 넣은 띠를 큐에서 빼고 거절
+            int released = strips.size() - tasks.size();
+            for (OcrTask task : tasks) {
+                if (workers.remove(task)) released++;
+            }
+            slots.release(released);
+            rejected.increment();
+            throw new OcrBusyException(retryAfterSeconds);
+        }
+
+        if (tasks.size() == 1) {
+            return tasks.get(0).result;
+        }
+        List<CompletableFuture<String>> parts = tasks.stream().map(task -> task.result).toList();
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                .thenApply(ignore -> OcrStrips.merge(strips, parts.stream().map(CompletableFuture::join).toList()));
+    }
+
+    // 워커에서 실행되는 OCR 한 건 (끝나면 예약한 자리 반납)
+    private class OcrTask implements Runnable {
+        private final BufferedImage image;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        OcrTask(BufferedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            queueWaitNanos.add(startedAt - enqueuedAt);
+            queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+
+            PooledTesseract engine = engines.poll();
+            try {
+                result.complete(Observation.createNotStarted(Stages.OCR, observationRegistry)
+                        .observeChecked(() -> engine.recognize(image)));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                engines.offer(engine);
+                ocrNanos.add(System.nanoTime() - startedAt);
+                completed.increment();
+                slots.release();
+            }
+        }
+    }
+
+    /** 2) 동기 OCR (호출 스레드는 결과가 나올 때까지 대기) */
+    public String recognize(BufferedImage image) throws Exception {
+        try {
+            return submit(image).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            throw e;
+        }
+    }
+
+    public Stats getStats() {
+        long done = completed.sum();
+        return new Stats(
+                poolSize,
+                workers.getActiveCount(),
+                workers.getQueue().size(),
+                queueCapacity,
+                done,
+                rejected.sum(),
+                done == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / done,
+                done == 0 ? 0.0 : ocrNanos.sum() / 1_000_000.0 / done
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private int poolSize;          // 엔진(워커) 수
+        private int active;            // 처리 중인 작업 수
+        private int queued;            // 대기 중인 작업 수
+        private int queueCapacity;     // 대기 큐 최대 크기
+        private long completed;        // 완료된 작업 수 (긴 이미지는 띠 하나가 한 건)
+        private long rejected;         // 큐가 가득 차서 거절된 요청 수
+        private double avgQueueWaitMs; // 평균 큐 대기 시간
+        private double avgOcrMs;       // 평균 OCR 시간
+    }
+}
@@ -0,0 +1,114 @@
+package com.mm.backend.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.mm.backend.config.Stages;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * 업로드 이미지를 임시 파일 없이 메모리에서 바로 디코딩하고 OCR용으로 줄인다.
+ * - 바이트 크기 / 픽셀 수 상한을 디코딩 전에 검사 (헤더만 읽음)
+ * - 흑백 변환 + 최대 너비로 축소 → Tesseract에 넘기는 픽셀 수 감소
+ */
+@Component
+public class OcrImageDecoder {
+
+    private final long maxBytes;
+    private final long maxPixels;
+    private final int maxWidth;
+    private final ObservationRegistry observationRegistry;
+
+    public OcrImageDecoder(ObservationRegistry observationRegistry,
+                           @Value("${ocr.image.max-bytes:10485760}") long maxBytes,
+                           @Value("${ocr.image.max-pixels:40000000}") long maxPixels,
+                           @Value("${ocr.image.max-width:1600}") int maxWidth) {
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.maxWidth = maxWidth;
+        this.observationRegistry = observationRegistry;
+    }
+
+    public BufferedImage decode(MultipartFile file) throws IOException {
+        if (file.getSize() > maxBytes) {
+            throw new ImageTooLargeException("이미지 용량 초과: " + file.getSize() + " bytes (최대 " + maxBytes + ")");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return decode(in);
+        }
+    }
+
+    public BufferedImage decode(byte[] bytes) throws IOException {
+        if (bytes.length > maxBytes) {
+            throw new ImageTooLargeException("이미지 용량 초과: " + bytes.length + " bytes (최대 " + maxBytes + ")");
+        }
+        return decode(new ByteArrayInputStream(bytes));
+    }
+
+    public BufferedImage decode(InputStream in) throws IOException {
+        return Observation.createNotStarted(Stages.IMAGE_DECODE, observationRegistry)
+                .observeChecked(() -> decodeImage(in));
+    }
+
+    private BufferedImage decodeImage(InputStream in) throws IOException {
+        // ImageIO 기본 설정은 디스크 캐시를 쓰므로 메모리 캐시 스트림을 직접 생성
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) throw new IOException("이미지를 읽을 수 없음");
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new ImageTooLargeException("이미지 해상도 초과: " + pixels + " px (최대 " + maxPixels + ")");
+                }
+
+                return toOcrImage(reader.read(0), maxWidth);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** 흑백 변환 + 너비가 maxWidth보다 크면 비율 유지 축소 (한 번의 그리기로 처리) */
+    public static BufferedImage toOcrImage(BufferedImage src, int maxWidth) {
+        int width = src.getWidth();
+        int height = src.getHeight();
+        if (width > maxWidth) {
+            height = Math.max(1, (int) Math.round((double) height * maxWidth / width));
+            width = maxWidth;
+        }
+
+        if (src.getType() == BufferedImage.TYPE_BYTE_GRAY && width == src.getWidth()) {
+            return src;
+        }
+
+        BufferedImage gray = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(src, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return gray;
+    }
+}
@@ -1,36 +1,49 @@
 package com.mm.backend.service;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import javax.imageio.ImageIO;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.mm.backend.entity.Transaction;
+import com.mm.backend.service.AiParserService.ParseOutcome;
+import com.mm.backend.service.ImageDuplicateIndex.Fingerprint;
+import com.mm.backend.service.ImageDuplicateIndex.Match;
 import com.mm.backend.service.TransactionService.TransactionRequest;
 
-import net.sourceforge.tess4j.Tesseract;
-import net.sourceforge.tess4j.TesseractException;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 public class OcrService {
 
     private final TransactionService transactionService;
     private final AiParserService aiParserService;
+    private final OcrEnginePool ocrEnginePool;
+    private final OcrImageDecoder ocrImageDecoder;
+    private final RuleParser ruleParser;
+    private final ImageDuplicateIndex imageDuplicateIndex;
 
     public OcrService(TransactionService transactionService,
-                      AiParserService aiParserService) {
+                      AiParserService aiParserService,
+                      OcrEnginePool ocrEnginePool,
+                      OcrImageDecoder ocrImageDecoder,
+                      RuleParser ruleParser,
+                      ImageDuplicateIndex imageDuplicateIndex) {
         this.transactionService = transactionService;
         this.aiParserService = aiParserService;
+        this.ocrEnginePool = ocrEnginePool;
+        this.ocrImageDecoder = ocrImageDecoder;
+        this.ruleParser = ruleParser;
+        this.imageDuplicateIndex = imageDuplicateIndex;
     }
 
     /** 1) 이미지 -> OCR -> 텍스트 -> 규칙 기반 */
@@ -38,37 +51,25 @@ public class OcrService {
         try {
             String text = ocrImage(file);
             return analyzeText(text);
+        } catch (OcrBusyException | ImageTooLargeException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("OCR analyze failed", e);
             return new ArrayList<>();
         }
     }
 
-    /** 2) 텍스트 -> TransactionRequest (규칙 기반) */
+    /** 2) 텍스트 -> TransactionRequest (규칙 기반, 여러 결제가 이어진 캡처는 건별로) */
     public List<TransactionRequest> analyzeText(String rawText) {
-        List<TransactionRequest> list = new ArrayList<>();
-        TransactionRequest req = new TransactionRequest();
-        req.setRawText(rawText);
-
-        YearMonth ym = YearMonth.now();
-        req.setMonth(ym.toString());
-        req.setDatetime(LocalDateTime.now());
-
-        req.setAmount(extractAmount(rawText));
-        req.setMerchant(extractMerchant(rawText));
-        req.setPaymentMethod(detectPaymentMethod(rawText));
-        req.setCategory(guessCategory(req.getMerchant(), rawText));
-
-        list.add(req);
-        return list;
+        return ruleParser.parseAll(rawText);
     }
 
     /** 3) OCR + DB 저장 */
-    public List<Transaction> analyzeAndSave(MultipartFile file) {
+    public List<Transaction> analyzeAndSave(String userId, MultipartFile file) {
         List<TransactionRequest> parsedList = analyzeCapture(file);
         List<Transaction> saved = new ArrayList<>();
         for (TransactionRequest req : parsedList) {
-            saved.add(transactionService.addTransaction(req));
+            saved.add(transactionService.addTransaction(userId, req));
         }
         return saved;
     }
@@ -79,56 +80,54 @@ public class OcrService {
         return aiParserService.parseWithAI(text);
     }
 
-    // OCR 처리
-    private String ocrImage(MultipartFile file) throws IOException, TesseractException {
-        String originalName = file.getOriginalFilename();
-        String suffix = ".jpg";
-        if (originalName != null && originalName.contains(".")) {
-            suffix = originalName.substring(originalName.lastIndexOf('.'));
-        }
-
-        File temp = File.createTempFile("ocr-", suffix);
-        file.transferTo(temp);
-
-        try {
-            BufferedImage img = ImageIO.read(temp);
-            if (img == null) throw new IOException("이미지를 읽을 수 없음");
-
-            Tesseract tesseract = new Tesseract();
-            tesseract.setDatapath("C:\\Program Files\\Tesseract-OCR\\tessdata");
-            tesseract.setLanguage("kor+eng");
-            return tesseract.doOCR(img);
-
-        } finally {
-            temp.delete();
-        }
+    /**
+     * 4-1) 비동기 버전 - 디코딩만 호출 스레드에서, OCR / GPT 대기 중에는 스레드 반환.
+     * 같은 사용자가 같은 캡처를 다시 올리면 OCR / GPT 없이, 거의 같은 캡처면 OCR 후 금액 / 가맹점이
+     * 같을 때 GPT 없이 이전 파싱 결과를 돌려줌. 이전 결과에는 원문과 sourceKey("img:" + 픽셀 해시,
+     * 결제 시각을 못 읽은 경우) 가 들어 있으므로 다시 저장해도 addTransaction의 중복 키로 이미 저장된 거래가 반환됨.
+     */
+    public CompletableFuture<TransactionRequest> analyzeCaptureWithAIAsync(String userId, MultipartFile file) throws IOException {
+        return analyzeCaptureWithDedup(userId, file, aiParserService::parseAsync);
     }
 
-    private Integer extractAmount(String text) {
-        Matcher m = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원").matcher(text);
-        if (m.find()) return Integer.parseInt(m.group(1).replace(",", ""));
-        return null;
+    /** 4-2) 스트리밍 버전 - GPT가 필드를 보내는 대로 onField (중복 캡처면 onField 없이 바로 완료) */
+    public CompletableFuture<TransactionRequest> analyzeCaptureWithAIStreaming(String userId, MultipartFile file,
+                                                                              BiConsumer<String, JsonNode> onField) throws IOException {
+        return analyzeCaptureWithDedup(userId, file, text -> aiParserService.parseStreaming(text, onField));
     }
 
-    private String extractMerchant(String text) {
-        String cleaned = text.replaceAll("\\[[^]]+\\]", "");
-        for (String token : cleaned.split("\\s+")) {
-            if (token.matches(".*\\d.*") || token.contains("결제")) continue;
-            return token;
+    private CompletableFuture<TransactionRequest> analyzeCaptureWithDedup(
+            String userId, MultipartFile file,
+            Function<String, CompletableFuture<ParseOutcome>> parse) throws IOException {
+        BufferedImage img = ocrImageDecoder.decode(file);
+        Fingerprint fingerprint = ImageDuplicateIndex.fingerprint(img);
+        Optional<Match> match = imageDuplicateIndex.find(userId, fingerprint);
+        if (match.isPresent() && match.get().exact()) {
+            return CompletableFuture.completedFuture(match.get().request());
         }
-        return "Unknown";
-    }
 
-    private String detectPaymentMethod(String text) {
-        if (text.contains("카카오")) return "KakaoPay";
-        if (text.contains("네이버")) return "NaverPay";
-        if (text.contains("카드"))  return "Card";
-        return "Unknown";
+        return ocrEnginePool.submit(img)
+                .thenCompose(text -> {
+                    if (match.isPresent() && imageDuplicateIndex.confirm(match.get(), text)) {
+                        return CompletableFuture.completedFuture(match.get().request());
+                    }
+                    return parse.apply(text).thenApply(outcome -> {
+                        TransactionRequest req = outcome.getRequest();
+                        if (req.getDatetime() == null && req.getSourceKey() == null) {
+                            req.setSourceKey("img:" + fingerprint.contentHash());
+                        }
+                        // GPT 실패 fallback 결과는 기억하지 않음 (다음 업로드에서 다시 GPT)
+                        if (outcome.isReusable()) {
+                            imageDuplicateIndex.remember(userId, fingerprint, req);
+                        }
+                        return req;
+                    });
+                });
     }
 
-    private String guessCategory(String merchant, String text) {
-        String base = merchant + " " + text;
-        if (base.contains("커피")) return "카페";
-        return "기타";
+    // OCR 처리 (메모리에서 디코딩 → 엔진 풀에서 실행, 긴 이미지는 띠별 병렬)
+    private String ocrImage(MultipartFile file) throws Exception {
+        BufferedImage img = ocrImageDecoder.decode(file);
+        return ocrEnginePool.recognize(img);
     }
 }
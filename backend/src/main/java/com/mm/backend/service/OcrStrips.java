@@ -0,0 +1,126 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 세로로 긴 캡처(주문 내역, 은행 앱 스크롤 캡처)를 가로 띠로 잘라 병렬 OCR.
+ * - 자르는 위치: 목표 높이 근처에서 글자가 없는 빈 행(줄 사이 여백)을 찾아 자름
+ * - 빈 행이 없으면 overlap 만큼 겹쳐 자르고, 합칠 때 겹친 줄을 한 번만 남김
+ */
+final class OcrStrips {
+
+    // 이 값보다 어두운 픽셀 = 글자
+    private static final int INK_THRESHOLD = 128;
+    // 합칠 때 비교하는 겹친 줄 수 상한
+    private static final int MAX_OVERLAP_LINES = 6;
+
+    /** 띠 한 장 (overlapsPrevious: 빈 행을 못 찾아 앞 띠와 겹쳐 자름) */
+    record Strip(BufferedImage image, boolean overlapsPrevious) {}
+
+    private OcrStrips() {
+    }
+
+    /** 1) 이미지 → 띠 목록 (tileHeight 이하이면 원본 그대로 한 장, overlap은 0 이상 tileHeight / 2 미만) */
+    static List<Strip> split(BufferedImage image, int tileHeight, int overlap, int maxTiles) {
+        int height = image.getHeight();
+        if (tileHeight <= 0 || height <= tileHeight + tileHeight / 2) {
+            return List.of(new Strip(image, false));
+        }
+
+        // 띠가 너무 많으면 OCR 큐를 혼자 다 차지하므로 띠 높이를 늘림
+        int tile = Math.max(tileHeight, (height + maxTiles - 1) / Math.max(1, maxTiles));
+        int window = Math.max(overlap, tile / 8);
+
+        List<Strip> strips = new ArrayList<>();
+        int top = 0;
+        boolean overlapped = false;
+        while (height - top > tile + tile / 4) {
+            int target = top + tile;
+            int blank = findBlankRow(image, target, Math.max(top + 1, target - window));
+            int bottom = blank > 0 ? blank : target;
+            strips.add(new Strip(image.getSubimage(0, top, image.getWidth(), bottom - top), overlapped));
+            overlapped = blank < 0;
+            // 겹쳐 자를 때도 최소 한 행은 내려감 (overlap 설정이 커도 무한 반복하지 않게)
+            top = overlapped ? Math.max(top + 1, target - overlap) : blank;
+        }
+        strips.add(new Strip(image.getSubimage(0, top, image.getWidth(), height - top), overlapped));
+        return strips;
+    }
+
+    // from → to 방향(위로)으로 글자가 거의 없는 행 찾기 (없으면 -1)
+    private static int findBlankRow(BufferedImage image, int from, int to) {
+        Raster raster = image.getRaster();
+        int width = image.getWidth();
+        int noise = Math.max(1, width / 200);
+        int[] row = new int[width];
+        for (int y = from; y >= to; y--) {
+            raster.getSamples(0, y, width, 1, 0, row);
+            int ink = 0;
+            for (int v : row) {
+                if (v < INK_THRESHOLD && ++ink > noise) break;
+            }
+            if (ink <= noise) return y;
+        }
+        return -1;
+    }
+
+    /**
+     * 2) 띠별 OCR 결과 → 위에서부터 순서대로 합치기.
+     * 겹쳐 자른 경계에서만 같은 줄을 한 번으로 줄임 (빈 행에서 자른 경계는 그대로 이어 붙임 →
+     * 같은 가맹점 / 금액 결제가 연달아 있어도 지워지지 않음)
+     */
+    static String merge(List<Strip> strips, List<String> texts) {
+        List<String> merged = new ArrayList<>();
+        for (int s = 0; s < texts.size(); s++) {
+            List<String> lines = nonBlankLines(texts.get(s));
+            if (merged.isEmpty() || !strips.get(s).overlapsPrevious()) {
+                merged.addAll(lines);
+                continue;
+            }
+            int[] cut = overlapOf(merged, lines);
+            // cut = {앞 띠 끝에서 버릴 줄 수(잘린 줄), 다음 띠 앞에서 건너뛸 줄 수}
+            for (int i = 0; i < cut[0]; i++) merged.remove(merged.size() - 1);
+            merged.addAll(lines.subList(cut[1], lines.size()));
+        }
+        return String.join("\n", merged);
+    }
+
+    // 앞 띠의 마지막 k줄 == 다음 띠의 처음 k줄 (경계에서 반쯤 잘린 한 줄씩은 무시하고 비교)
+    private static int[] overlapOf(List<String> merged, List<String> lines) {
+        for (int k = Math.min(MAX_OVERLAP_LINES, Math.min(merged.size(), lines.size())); k > 0; k--) {
+            for (int skipTail = 0; skipTail <= 1; skipTail++) {
+                for (int skipHead = 0; skipHead <= 1; skipHead++) {
+                    int tailEnd = merged.size() - skipTail;
+                    if (tailEnd - k < 0 || skipHead + k > lines.size()) continue;
+                    if (sameLines(merged.subList(tailEnd - k, tailEnd), lines.subList(skipHead, skipHead + k))) {
+                        return new int[]{skipTail, skipHead + k};
+                    }
+                }
+            }
+        }
+        return new int[]{0, 0};
+    }
+
+    private static boolean sameLines(List<String> a, List<String> b) {
+        for (int i = 0; i < a.size(); i++) {
+            if (!normalize(a.get(i)).equals(normalize(b.get(i)))) return false;
+        }
+        return true;
+    }
+
+    private static String normalize(String line) {
+        return line.replaceAll("\\s+", "");
+    }
+
+    private static List<String> nonBlankLines(String text) {
+        List<String> lines = new ArrayList<>();
+        if (text == null) return lines;
+        for (String line : text.split("\\R")) {
+            if (!line.isBlank()) lines.add(line.strip());
+        }
+        return lines;
+    }
+}
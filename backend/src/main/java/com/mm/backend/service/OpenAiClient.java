@@ -0,0 +1,278 @@
+package com.mm.backend.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mm.backend.config.Stages;
+import com.mm.backend.config.WorkerThreads;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OpenAI chat completion 호출 (응답의 message.content만 돌려줌).
+ * - java.net.http.HttpClient: 비동기 + keep-alive 커넥션 재사용
+ * - 스트리밍(stream=true): SSE로 오는 content 조각을 받는 대로 넘겨줌
+ * - 연결/응답 타임아웃, 서킷 브레이커 (열려 있으면 바로 CircuitOpenException)
+ */
+@Slf4j
+@Component
+public class OpenAiClient {
+
+    private final String apiKey;
+    private final String baseUrl;
+    private final String model;
+    private final Duration requestTimeout;
+
+    private final LlmCircuitBreaker circuitBreaker;
+    private final Executor callbackExecutor;
+    private final HttpClient httpClient;
+    private final ObservationRegistry observationRegistry;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public OpenAiClient(LlmCircuitBreaker circuitBreaker,
+                        WorkerThreads workerThreads,
+                        ObservationRegistry observationRegistry,
+                        @Value("${openai.api-key}") String apiKey,
+                        @Value("${openai.base-url:https://api.openai.com/v1}") String baseUrl,
+                        @Value("${openai.model:gpt-4o-mini}") String model,
+                        @Value("${llm.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+                        @Value("${llm.http.request-timeout-ms:20000}") long requestTimeoutMs,
+                        @Value("${llm.http.threads:4}") int threads) {
+        this.circuitBreaker = circuitBreaker;
+        this.observationRegistry = observationRegistry;
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl;
+        this.model = model;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+
+        // 응답 처리(JSON 파싱, 캐시 저장, DB 저장)가 이 executor에서 이어서 실행됨
+        this.callbackExecutor = workerThreads.ioExecutor("llm-http-", threads);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(callbackExecutor)
+                .build();
+    }
+
+    @PostConstruct
+    public void checkKey() {
+        if (apiKey == null || apiKey.isBlank()) {
+            log.warn("OpenAI API key not set (openai.api-key)");
+        } else {
+            log.info("OpenAI API key loaded, model={}", model);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        WorkerThreads.shutdown(callbackExecutor);
+    }
+
+    /** 비동기 호출 (요청 스레드를 붙잡지 않음) */
+    public CompletableFuture<String> completeAsync(String userContent) {
+        // 왕복 시간 (outcome 태그: success / http_4xx / http_5xx / timeout / circuit_open / error)
+        Observation observation = Observation.createNotStarted(Stages.LLM_REQUEST, observationRegistry)
+                .lowCardinalityKeyValue("model", model)
+                .start();
+
+        // 요청을 먼저 만듦 (만들다 실패하면 서킷 자리를 받지 않았으므로 성공 / 실패로 세지 않음)
+        HttpRequest request;
+        try {
+            request = newRequest(requestBody(userContent, false));
+        } catch (Exception e) {
+            stop(observation, e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            stop(observation, new CircuitOpenException());
+            return CompletableFuture.failedFuture(new CircuitOpenException());
+        }
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::extractContent)
+                .whenComplete((content, error) -> finish(observation, error));
+    }
+
+    /**
+     * 스트리밍 호출 - content 조각이 도착할 때마다 onDelta (응답 스레드에서 순서대로),
+     * 스트림이 끝나면 조각을 이어 붙인 전체 content로 완료.
+     */
+    public CompletableFuture<String> streamAsync(String userContent, Consumer<String> onDelta) {
+        Observation observation = Observation.createNotStarted(Stages.LLM_REQUEST, observationRegistry)
+                .lowCardinalityKeyValue("model", model)
+                .lowCardinalityKeyValue("stream", "true")
+                .start();
+
+        // 요청을 먼저 만듦 (만들다 실패하면 서킷 자리를 받지 않았으므로 성공 / 실패로 세지 않음)
+        HttpRequest request;
+        try {
+            request = newRequest(requestBody(userContent, true));
+        } catch (Exception e) {
+            stop(observation, e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            stop(observation, new CircuitOpenException());
+            return CompletableFuture.failedFuture(new CircuitOpenException());
+        }
+
+        // 2xx면 한 줄씩 읽고, 아니면 본문 전체를 에러로
+        StringBuilder content = new StringBuilder();
+        HttpResponse.BodyHandler<String> handler = info -> info.statusCode() / 100 == 2
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(
+                        new DeltaSubscriber(content, onDelta), s -> content.toString(), StandardCharsets.UTF_8, null)
+                : HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8), body -> {
+                    throw new LlmHttpException(info.statusCode(), body);
+                });
+
+        return httpClient.sendAsync(request, handler)
+                .thenApply(HttpResponse::body)
+                .whenComplete((body, error) -> finish(observation, error));
+    }
+
+    /** 동기 호출 (기존 호출부 호환) */
+    public String complete(String userContent) throws Exception {
+        try {
+            return completeAsync(userContent).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    private HttpRequest newRequest(String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/chat/completions"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void finish(Observation observation, Throwable error) {
+        Throwable cause = error != null ? unwrap(error) : null;
+        if (cause == null || !countsAsFailure(cause)) circuitBreaker.onSuccess();
+        else circuitBreaker.onFailure();
+        stop(observation, cause);
+    }
+
+    private String requestBody(String userContent, boolean stream) throws Exception {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("model", model);
+        body.put("temperature", 0.0);
+        if (stream) body.put("stream", true);
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject().put("role", "system").put("content", ParsePrompts.SYSTEM);
+        messages.addObject().put("role", "user").put("content", userContent);
+        return mapper.writeValueAsString(body);
+    }
+
+    private String extractContent(HttpResponse<String> response) {
+        log.debug("OpenAI status={} body={}", response.statusCode(), response.body());
+
+        if (response.statusCode() / 100 != 2) {
+            throw new LlmHttpException(response.statusCode(), response.body());
+        }
+        try {
+            JsonNode root = mapper.readTree(response.body());
+            return root.path("choices").get(0).path("message").path("content").asText();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /** SSE 한 줄씩: "data: {...choices[0].delta.content...}", 마지막은 "data: [DONE]" */
+    private class DeltaSubscriber implements Flow.Subscriber<String> {
+        private final StringBuilder content;
+        private final Consumer<String> onDelta;
+
+        DeltaSubscriber(StringBuilder content, Consumer<String> onDelta) {
+            this.content = content;
+            this.onDelta = onDelta;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) return;
+            String data = line.substring(5).trim();
+            if (data.isEmpty() || data.equals("[DONE]")) return;
+
+            String delta;
+            try {
+                delta = mapper.readTree(data).path("choices").path(0).path("delta").path("content").asText("");
+            } catch (Exception e) {
+                log.debug("OpenAI stream line skipped: {}", line);
+                return;
+            }
+            if (delta.isEmpty()) return;
+            content.append(delta);
+            onDelta.accept(delta);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            // sendAsync 결과가 같은 에러로 실패함
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static void stop(Observation observation, Throwable error) {
+        observation.lowCardinalityKeyValue("outcome", outcomeOf(error));
+        if (error != null) observation.error(error);
+        observation.stop();
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) return "success";
+        if (error instanceof CircuitOpenException) return "circuit_open";
+        if (error instanceof HttpTimeoutException) return "timeout";
+        if (error instanceof LlmHttpException http) return http.isClientError() ? "http_4xx" : "http_5xx";
+        return "error";
+    }
+
+    // 429, 5xx, 타임아웃/연결 실패만 서킷 실패로 집계 (400 등 요청 문제는 제외)
+    private static boolean countsAsFailure(Throwable error) {
+        if (error instanceof LlmHttpException http) {
+            return http.getStatusCode() == 429 || http.getStatusCode() >= 500 || http.getStatusCode() == 401;
+        }
+        return error instanceof IOException;
+    }
+
+    static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
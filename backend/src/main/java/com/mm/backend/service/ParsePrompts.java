@@ -0,0 +1,40 @@
+package com.mm.backend.service;
+
+import java.util.List;
+
+/** GPT 파싱 프롬프트 (단건 / 여러 건 묶음) */
+final class ParsePrompts {
+
+    static final String SYSTEM = "You are an expert receipt parsing assistant. Output ONLY valid JSON.";
+
+    private static final String FORMAT = """
+            {
+              "amount": number,
+              "merchant": string,
+              "paymentMethod": string,
+              "category": string,
+              "month": "YYYY-MM",
+              "datetime": "YYYY-MM-DDTHH:mm:ss"
+            }""";
+
+    private ParsePrompts() {
+    }
+
+    static String single(String rawText) {
+        return "Extract payment info from this text and return ONLY this JSON format:\n"
+                + FORMAT + "\nTEXT: " + rawText;
+    }
+
+    // 여러 건을 한 번에 → 같은 순서의 JSON 배열로 응답받음
+    static String batch(List<String> rawTexts) {
+        StringBuilder sb = new StringBuilder()
+                .append("Extract payment info from each of the following ").append(rawTexts.size())
+                .append(" texts. Return ONLY a JSON array with exactly ").append(rawTexts.size())
+                .append(" objects, in the same order as the texts, each in this format:\n")
+                .append(FORMAT).append('\n');
+        for (int i = 0; i < rawTexts.size(); i++) {
+            sb.append("TEXT ").append(i + 1).append(": ").append(rawTexts.get(i)).append('\n');
+        }
+        return sb.toString();
+    }
+}
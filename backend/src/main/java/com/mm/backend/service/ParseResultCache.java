@@ -0,0 +1,158 @@
+package com.mm.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mm.backend.entity.ParseCacheEntry;
+import com.mm.backend.repository.ParseCacheRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 같은 문자/알림/OCR 텍스트를 다시 GPT에 보내지 않도록 파싱 결과를 캐시.
+ * - 키: 공백/유니코드 정규화한 원본 텍스트의 SHA-256
+ * - 1차: 메모리 (크기 제한 + TTL, LRU 방식 제거)
+ * - 2차: DB (재시작 후에도 유지, TTL 지나면 무시하고 삭제)
+ *   주기적으로 TTL 지난 행을 지우고, persistent-max-rows를 넘으면 오래된 행부터 삭제
+ */
+@Slf4j
+@Component
+public class ParseResultCache {
+
+    private final ParseCacheRepository parseCacheRepository;
+    private final Cache<String, String> memory;
+    private final Duration persistentTtl;
+    private final int persistentMaxRows;
+    private final boolean enabled;
+
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ParseResultCache(ParseCacheRepository parseCacheRepository,
+                            @Value("${parse-cache.enabled:true}") boolean enabled,
+                            @Value("${parse-cache.max-size:10000}") long maxSize,
+                            @Value("${parse-cache.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${parse-cache.persistent-ttl-minutes:43200}") long persistentTtlMinutes,
+                            @Value("${parse-cache.persistent-max-rows:100000}") int persistentMaxRows) {
+        this.parseCacheRepository = parseCacheRepository;
+        this.enabled = enabled;
+        this.persistentTtl = Duration.ofMinutes(persistentTtlMinutes);
+        this.persistentMaxRows = persistentMaxRows;
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /** 캐시된 GPT 응답(JSON) 조회 */
+    public Optional<String> get(String rawText) {
+        if (!enabled || rawText == null) return Optional.empty();
+
+        String key = keyOf(rawText);
+        String cached = memory.getIfPresent(key);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<ParseCacheEntry> stored = parseCacheRepository.findById(key);
+        if (stored.isPresent()) {
+            ParseCacheEntry entry = stored.get();
+            if (entry.getCreatedAt().plus(persistentTtl).isAfter(LocalDateTime.now())) {
+                persistentHits.increment();
+                memory.put(key, entry.getContent());
+                return Optional.of(entry.getContent());
+            }
+            parseCacheRepository.delete(entry);
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /** GPT 응답(JSON) 저장 */
+    public void put(String rawText, String content) {
+        if (!enabled || rawText == null) return;
+
+        String key = keyOf(rawText);
+        memory.put(key, content);
+        parseCacheRepository.save(ParseCacheEntry.builder()
+                .contentHash(key)
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /** DB 계층 정리 - TTL 지난 행 삭제 후, 남은 행이 persistent-max-rows를 넘으면 오래된 것부터 삭제 (매시 15분) */
+    @Scheduled(cron = "${parse-cache.purge-cron:0 15 * * * *}")
+    @Transactional
+    public int purgeExpired() {
+        int deleted = parseCacheRepository.deleteCreatedBefore(LocalDateTime.now().minus(persistentTtl));
+
+        // 최신 max-rows개 바로 다음 행의 저장 시각까지 삭제
+        List<LocalDateTime> boundary = parseCacheRepository.findCreatedAtNewestFirst(PageRequest.of(persistentMaxRows, 1));
+        if (!boundary.isEmpty()) {
+            deleted += parseCacheRepository.deleteCreatedAtOrBefore(boundary.get(0));
+        }
+        if (deleted > 0) {
+            log.info("파싱 결과 캐시 {}건 정리 (TTL {}분, 최대 {}건)", deleted, persistentTtl.toMinutes(), persistentMaxRows);
+        }
+        return deleted;
+    }
+
+    public Stats getStats() {
+        CacheStats s = memory.stats();
+        long persistent = persistentHits.sum();
+        long miss = misses.sum();
+        long total = s.hitCount() + persistent + miss;
+        return new Stats(
+                memory.estimatedSize(),
+                s.hitCount(),
+                persistent,
+                miss,
+                s.evictionCount(),
+                total == 0 ? 0.0 : (double) (s.hitCount() + persistent) / total
+        );
+    }
+
+    // 공백 차이, 유니코드 조합 차이(NFC/NFD)는 같은 텍스트로 취급
+    static String keyOf(String rawText) {
+        String normalized = Normalizer.normalize(rawText, Normalizer.Form.NFC)
+                .replaceAll("\\s+", " ")
+                .trim();
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private long size;           // 메모리 캐시 항목 수
+        private long memoryHits;     // 메모리 적중
+        private long persistentHits; // DB 적중
+        private long misses;         // 미적중 (GPT 호출)
+        private long evictions;      // 메모리에서 밀려난 항목 수
+        private double hitRate;      // 전체 적중률
+    }
+}
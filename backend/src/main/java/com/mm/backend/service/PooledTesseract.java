@@ -0,0 +1,41 @@
+package com.mm.backend.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import net.sourceforge.tess4j.Tesseract;
+
+/**
+ * 한 번 초기화한 traineddata를 계속 재사용하는 Tesseract.
+ * 기본 doOCR()은 호출마다 init()/dispose()를 반복하므로 모델을 매번 다시 읽는다.
+ * 스레드 안전하지 않으므로 OcrEnginePool을 통해 한 번에 한 스레드만 사용해야 한다.
+ */
+class PooledTesseract extends Tesseract {
+
+    private boolean initialized;
+
+    PooledTesseract(String datapath, String language) {
+        setDatapath(datapath);
+        setLanguage(language);
+    }
+
+    // 모델 로딩 (이미 로딩되어 있으면 무시)
+    void warmUp() {
+        if (initialized) return;
+        init();
+        setVariables();
+        initialized = true;
+    }
+
+    String recognize(BufferedImage image) throws IOException {
+        warmUp();
+        setImage(image);
+        return getOCRText(null, 0);
+    }
+
+    void close() {
+        if (!initialized) return;
+        dispose();
+        initialized = false;
+    }
+}
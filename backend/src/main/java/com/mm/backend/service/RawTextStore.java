@@ -0,0 +1,200 @@
+package com.mm.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mm.backend.entity.RawTextBlob;
+import com.mm.backend.repository.RawTextBlobRepository;
+import com.mm.backend.repository.TransactionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 거래 원본 텍스트 보관소.
+ * - 키: 원문 SHA-256 (같은 문자/OCR 결과는 한 번만 저장)
+ * - 본문: deflate 압축
+ * - raw-text.retention-days 지난 원문은 매일 정리 (거래의 rawTextHash도 null로)
+ */
+@Slf4j
+@Service
+public class RawTextStore {
+
+    private final RawTextBlobRepository blobRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate requiresNew;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int retentionDays;
+
+    public RawTextStore(RawTextBlobRepository blobRepository,
+                        TransactionRepository transactionRepository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${raw-text.retention-days:0}") int retentionDays) {
+        this.blobRepository = blobRepository;
+        this.transactionRepository = transactionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.retentionDays = retentionDays;
+    }
+
+    // 1) 원문 저장 → 해시 반환 (null/빈 문자열이면 null)
+    public String store(String rawText) {
+        if (rawText == null || rawText.isEmpty()) return null;
+        return storeAll(List.of(rawText)).get(rawText);
+    }
+
+    // 1-1) 여러 건 저장 → 원문별 해시 (이미 있는 원문은 보관 기간만 연장)
+    public Map<String, String> storeAll(Collection<String> rawTexts) {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        for (String text : rawTexts) {
+            if (text == null || text.isEmpty()) continue;
+            hashes.putIfAbsent(text, hashOf(text));
+        }
+        if (hashes.isEmpty()) return hashes;
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, RawTextBlob> missing = new HashMap<>();
+        hashes.forEach((text, hash) -> missing.put(hash, RawTextBlob.builder()
+                .contentHash(hash)
+                .data(deflate(text))
+                .originalLength(text.getBytes(StandardCharsets.UTF_8).length)
+                .createdAt(now)
+                .lastSeenAt(now)
+                .build()));
+
+        // 새 원문만 별도 트랜잭션으로 저장 (동시 저장 충돌은 한 건씩 다시 시도)
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                blobRepository.touch(missing.keySet(), now);
+                blobRepository.findAllById(missing.keySet()).forEach(b -> missing.remove(b.getContentHash()));
+                blobRepository.saveAllAndFlush(missing.values());
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (RawTextBlob blob : missing.values()) {
+                try {
+                    requiresNew.executeWithoutResult(status -> {
+                        if (!blobRepository.existsById(blob.getContentHash())) blobRepository.saveAndFlush(blob);
+                    });
+                } catch (DataIntegrityViolationException ignore) {
+                    // 다른 요청이 먼저 저장함
+                }
+            }
+        }
+        return hashes;
+    }
+
+    // 2) 원문 조회 (보관 기간이 지나 정리됐으면 empty)
+    @Transactional(readOnly = true)
+    public Optional<String> load(String hash) {
+        if (hash == null) return Optional.empty();
+        return blobRepository.findById(hash).map(b -> inflate(b.getData(), b.getOriginalLength()));
+    }
+
+    // 2-1) 여러 건 조회 (해시 → 원문)
+    @Transactional(readOnly = true)
+    public Map<String, String> loadAll(Collection<String> hashes) {
+        Map<String, String> result = new HashMap<>();
+        List<String> ids = hashes.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return result;
+        for (RawTextBlob b : blobRepository.findAllById(ids)) {
+            result.put(b.getContentHash(), inflate(b.getData(), b.getOriginalLength()));
+        }
+        return result;
+    }
+
+    // 3) 보관 기간 지난 원문 정리 (매일 새벽 4시, retention-days=0이면 무기한 보관)
+    @Scheduled(cron = "${raw-text.purge-cron:0 0 4 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        if (retentionDays <= 0) return 0;
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+
+        // rawTextHash가 바뀌는 달의 월 거래 목록 캐시는 커밋 후 삭제
+        Map<String, Set<Integer>> periodsByUser = new HashMap<>();
+        for (TransactionRepository.UserPeriod p : transactionRepository.findUserPeriodsWithRawTextSeenBefore(cutoff)) {
+            if (p.getPeriod() != null) periodsByUser.computeIfAbsent(p.getUserId(), k -> new HashSet<>()).add(p.getPeriod());
+        }
+        transactionRepository.clearRawTextSeenBefore(cutoff);
+        periodsByUser.forEach((userId, periods) -> eventPublisher.publishEvent(new TransactionsChangedEvent(userId, periods)));
+
+        int deleted = blobRepository.deleteSeenBefore(cutoff);
+        if (deleted > 0) {
+            log.info("원본 텍스트 {}건 정리 ({}일 경과)", deleted, retentionDays);
+        }
+        return deleted;
+    }
+
+    // ---- 내부 구현 ----
+
+    static String hashOf(String rawText) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawText.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] deflate(String text) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] data, Integer originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(originalLength != null ? originalLength : data.length * 4);
+            byte[] buf = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && inflater.needsInput()) throw new DataFormatException("truncated");
+                out.write(buf, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted raw text blob", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
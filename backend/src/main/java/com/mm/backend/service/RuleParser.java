@@ -0,0 +1,331 @@
+package com.mm.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 규칙 기반 파서 (AI fallback, /parse-text, 이미지 규칙 분석 공용).
+ * 가맹점 / 결제수단 / 카테고리 키워드 사전(parser-rules.json)을 시작 시 한 번
+ * Aho-Corasick 매처로 컴파일해 두고, 텍스트를 한 번 훑어 모든 필드를 찾는다.
+ */
+@Component
+public class RuleParser {
+
+    // "4,500원", "5400원"
+    private static final Pattern AMOUNT = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원");
+    private static final Pattern BRACKETS = Pattern.compile("\\[[^]]+\\]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 결제 날짜: "2025.11.03", "25-11-03", "11/03", "2025년 11월 3일", "11월 3일"
+    private static final Pattern DATE = Pattern.compile(
+            "(?<!\\d)(?:(\\d{4}|\\d{2})[./-]\\s?)?(\\d{1,2})[./-]\\s?(\\d{1,2})(?!\\d)|(?:(\\d{4})년\\s*)?(\\d{1,2})월\\s*(\\d{1,2})일");
+    // 결제 시각: "12:30", "12:30:05", "오후 1:30"
+    private static final Pattern TIME = Pattern.compile("(?:(오전|오후)\\s*)?(?<![\\d:])(\\d{1,2}):(\\d{2})(?::(\\d{2}))?(?![\\d:])");
+
+    private enum Field { MERCHANT, PAYMENT_METHOD, CATEGORY }
+
+    // 사전 항목 하나 (priority가 작을수록 우선)
+    private record Hit(Field field, int priority) {}
+
+    private final Rules rules;
+    private final AhoCorasick<Hit> matcher;
+
+    public RuleParser(ResourceLoader resourceLoader,
+                      @Value("${parser.rules-location:classpath:parser-rules.json}") String rulesLocation) throws IOException {
+        try (InputStream in = resourceLoader.getResource(rulesLocation).getInputStream()) {
+            this.rules = new ObjectMapper().readValue(in, Rules.class);
+        }
+        this.matcher = compile(rules);
+    }
+
+    private static AhoCorasick<Hit> compile(Rules rules) {
+        AhoCorasick.Builder<Hit> builder = AhoCorasick.builder();
+        addAll(builder, Field.MERCHANT, rules.getMerchants());
+        addAll(builder, Field.PAYMENT_METHOD, rules.getPaymentMethods());
+        addAll(builder, Field.CATEGORY, rules.getCategories());
+        return builder.build();
+    }
+
+    private static void addAll(AhoCorasick.Builder<Hit> builder, Field field, List<Entry> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            for (String keyword : entries.get(i).getKeywords()) {
+                builder.add(keyword, new Hit(field, i));
+            }
+        }
+    }
+
+    /**
+     * 텍스트 → TransactionRequest.
+     * 결제 날짜를 읽으면 datetime / month를 그 날짜로, 못 읽으면 month는 이번 달, datetime은 비워 두고 저장 시각으로 채움
+     */
+    public TransactionRequest parse(String rawText) {
+        return parseScored(rawText).getRequest();
+    }
+
+    /**
+     * 텍스트 → TransactionRequest + 필드별 신뢰도 (0~1).
+     * 사전에서 찾은 값은 1, 추측한 값은 낮게, 못 찾은 값은 0.
+     */
+    public ScoredParse parseScored(String rawText) {
+        String text = rawText != null ? rawText : "";
+
+        // 1) 사전 매칭 (한 번 훑기) - 필드별로 가장 우선순위 높은 항목
+        int[] best = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        matcher.scan(text, hit -> {
+            int f = hit.field().ordinal();
+            if (hit.priority() < best[f]) best[f] = hit.priority();
+        });
+
+        TransactionRequest tr = new TransactionRequest();
+        tr.setRawText(rawText);
+
+        // 2) 결제 날짜 / 시각: 날짜 + 시각이면 확실, 날짜만이면 0시로, 못 읽으면 0 (GPT로 넘어가도록)
+        LocalDate date = extractDate(text, LocalDate.now());
+        LocalTime time = date != null ? extractTime(text) : null;
+        tr.setDatetime(date != null ? date.atTime(time != null ? time : LocalTime.MIDNIGHT) : null);
+        tr.setMonth((date != null ? YearMonth.from(date) : YearMonth.now()).toString());
+        double dateScore = date == null ? 0.0 : time != null ? 1.0 : 0.8;
+
+        // 3) 금액: 금액이 하나뿐이면 확실, 서로 다른 금액이 여러 개면 (할인 전 / 후 등) 애매
+        List<Integer> amounts = extractAmounts(text);
+        tr.setAmount(amounts.isEmpty() ? null : amounts.get(0));
+        double amountScore = amounts.isEmpty() ? 0.0 : amounts.size() == 1 ? 1.0 : 0.5;
+
+        // 4) 가맹점: 사전에 있으면 그 이름, 없으면 첫 번째 일반 단어
+        Entry merchant = pick(rules.getMerchants(), best[Field.MERCHANT.ordinal()]);
+        tr.setMerchant(merchant != null ? merchant.getName() : guessMerchantToken(text));
+        double merchantScore = merchant != null ? 1.0 : "Unknown".equals(tr.getMerchant()) ? 0.0 : 0.5;
+
+        // 5) 결제수단
+        Entry payment = pick(rules.getPaymentMethods(), best[Field.PAYMENT_METHOD.ordinal()]);
+        tr.setPaymentMethod(payment != null ? payment.getName() : "Unknown");
+        double paymentScore = payment != null ? 1.0 : 0.0;
+
+        // 6) 카테고리: 가맹점에 지정된 카테고리 → 키워드 사전 → 기본값
+        Entry category = pick(rules.getCategories(), best[Field.CATEGORY.ordinal()]);
+        double categoryScore;
+        if (merchant != null && merchant.getCategory() != null) {
+            tr.setCategory(merchant.getCategory());
+            categoryScore = 1.0;
+        } else if (category != null) {
+            tr.setCategory(category.getName());
+            categoryScore = 0.8;
+        } else {
+            tr.setCategory(rules.getDefaultCategory());
+            categoryScore = 0.3;
+        }
+
+        return new ScoredParse(tr, amountScore, merchantScore, dateScore, paymentScore, categoryScore);
+    }
+
+    /**
+     * 텍스트 → 결제 건별 TransactionRequest 목록 (주문 내역 / 은행 앱 캡처처럼 여러 건이 이어진 경우).
+     * 날짜와 금액이 모두 나온 뒤 날짜 줄이 다시 나오면 새 결제로 보고 나눔
+     * (영수증 한 장의 "승인일시" 뒤 "공급가액 / 부가세" 줄, 시각만 있는 줄로는 나누지 않음).
+     * 금액이 있는 구간이 2개 미만이면 (영수증 한 장 등) 전체를 한 건으로 파싱.
+     */
+    public List<TransactionRequest> parseAll(String rawText) {
+        List<String> entries = splitEntries(rawText != null ? rawText : "");
+        if (entries.size() < 2) {
+            return new ArrayList<>(List.of(parse(rawText)));
+        }
+        List<TransactionRequest> list = new ArrayList<>(entries.size());
+        for (String entry : entries) {
+            list.add(parse(entry));
+        }
+        return list;
+    }
+
+    // 금액이 있는 구간만 남김 (금액 없는 머리말 줄은 다음 구간에 붙임)
+    private static List<String> splitEntries(String text) {
+        LocalDate today = LocalDate.now();
+        List<String> entries = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean hasAmount = false;
+        boolean hasDate = false;
+        for (String line : text.split("\\R")) {
+            if (line.isBlank()) continue;
+            boolean dateLine = extractDate(line, today) != null;
+            if (hasAmount && hasDate && dateLine) {
+                entries.add(current.toString());
+                current.setLength(0);
+                hasAmount = false;
+                hasDate = false;
+            }
+            if (!current.isEmpty()) current.append('\n');
+            current.append(line.strip());
+            if (AMOUNT.matcher(line).find()) hasAmount = true;
+            if (dateLine) hasDate = true;
+        }
+        if (hasAmount) {
+            entries.add(current.toString());
+        } else if (!entries.isEmpty() && !current.isEmpty()) {
+            // 마지막 금액 뒤에 남은 줄 (승인번호 등)은 마지막 결제에 붙임
+            int last = entries.size() - 1;
+            entries.set(last, entries.get(last) + "\n" + current);
+        }
+        return entries;
+    }
+
+    public Integer extractAmount(String text) {
+        Matcher m = AMOUNT.matcher(text);
+        if (!m.find()) return null;
+        try {
+            return Integer.parseInt(m.group(1).replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 첫 번째로 읽히는 결제 날짜 (월 / 일 범위를 벗어나는 숫자는 건너뜀).
+     * 연도가 없으면 올해, 그 날짜가 내일 이후면 작년 (1월에 받은 12월 결제 알림).
+     */
+    static LocalDate extractDate(String text, LocalDate today) {
+        Matcher m = DATE.matcher(text);
+        while (m.find()) {
+            String year = m.group(1) != null ? m.group(1) : m.group(4);
+            String month = m.group(2) != null ? m.group(2) : m.group(5);
+            String day = m.group(3) != null ? m.group(3) : m.group(6);
+            try {
+                int y = year == null ? today.getYear() : year.length() == 2 ? 2000 + Integer.parseInt(year) : Integer.parseInt(year);
+                if (y < 2000 || y > today.getYear() + 1) continue;
+                LocalDate date = LocalDate.of(y, Integer.parseInt(month), Integer.parseInt(day));
+                if (year == null && date.isAfter(today.plusDays(1))) date = date.minusYears(1);
+                return date;
+            } catch (DateTimeException e) {
+                // "12.50" 같은 숫자 → 다음 후보
+            }
+        }
+        return null;
+    }
+
+    // 첫 번째로 읽히는 시각 (오후 1:30 → 13:30)
+    static LocalTime extractTime(String text) {
+        Matcher m = TIME.matcher(text);
+        while (m.find()) {
+            int hour = Integer.parseInt(m.group(2));
+            int minute = Integer.parseInt(m.group(3));
+            int second = m.group(4) != null ? Integer.parseInt(m.group(4)) : 0;
+            if ("오후".equals(m.group(1)) && hour < 12) hour += 12;
+            else if ("오전".equals(m.group(1)) && hour == 12) hour = 0;
+            if (hour < 24 && minute < 60 && second < 60) return LocalTime.of(hour, minute, second);
+        }
+        return null;
+    }
+
+    // 서로 다른 금액 (나온 순서대로)
+    static List<Integer> extractAmounts(String text) {
+        List<Integer> amounts = new ArrayList<>();
+        Matcher m = AMOUNT.matcher(text);
+        while (m.find()) {
+            try {
+                Integer amount = Integer.parseInt(m.group(1).replace(",", ""));
+                if (!amounts.contains(amount)) amounts.add(amount);
+            } catch (NumberFormatException ignore) {
+                // int 범위를 넘는 숫자는 금액으로 보지 않음
+            }
+        }
+        return amounts;
+    }
+
+    // "[카카오페이] 스타벅스 4,500원 결제" → "스타벅스"
+    private String guessMerchantToken(String text) {
+        String cleaned = BRACKETS.matcher(text).replaceAll("").trim();
+        int idx = cleaned.indexOf("원");
+        if (idx > 0) cleaned = cleaned.substring(0, idx);
+
+        for (String token : WHITESPACE.split(cleaned)) {
+            if (token.isEmpty() || hasDigit(token) || containsAny(token, rules.getMerchantSkipKeywords())) continue;
+            return token;
+        }
+        return "Unknown";
+    }
+
+    private static Entry pick(List<Entry> entries, int priority) {
+        return priority == Integer.MAX_VALUE ? null : entries.get(priority);
+    }
+
+    private static boolean hasDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isDigit(token.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean containsAny(String token, List<String> keywords) {
+        for (String k : keywords) {
+            if (token.contains(k)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 규칙 파싱 결과 + 필드별 신뢰도.
+     * score: 가중 평균 (금액 0.3, 가맹점 0.25, 날짜 0.25, 결제수단 0.1, 카테고리 0.1), 금액을 못 찾으면 0
+     * (날짜를 못 읽으면 최대 0.75 → 기본 기준 0.8 미만이라 GPT로 넘어감)
+     */
+    @Getter
+    public static class ScoredParse {
+        private final TransactionRequest request;
+        private final double amount;
+        private final double merchant;
+        private final double date;
+        private final double paymentMethod;
+        private final double category;
+        private final double score;
+
+        ScoredParse(TransactionRequest request, double amount, double merchant, double date,
+                    double paymentMethod, double category) {
+            this.request = request;
+            this.amount = amount;
+            this.merchant = merchant;
+            this.date = date;
+            this.paymentMethod = paymentMethod;
+            this.category = category;
+            this.score = amount == 0.0 ? 0.0
+                    : 0.3 * amount + 0.25 * merchant + 0.25 * date + 0.1 * paymentMethod + 0.1 * category;
+        }
+    }
+
+    // ==== parser-rules.json ====
+
+    @Getter
+    @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Rules {
+        private List<Entry> merchants = new ArrayList<>();
+        private List<Entry> paymentMethods = new ArrayList<>();
+        private List<Entry> categories = new ArrayList<>();
+        private String defaultCategory = "기타";
+        private List<String> merchantSkipKeywords = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        private String name;
+        private List<String> keywords = new ArrayList<>();
+        private String category; // 가맹점 항목에서만 사용
+    }
+}
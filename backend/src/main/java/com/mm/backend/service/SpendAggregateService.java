@@ -0,0 +1,258 @@
+package com.mm.backend.service;
+
+import com.mm.backend.config.Caches;
+import com.mm.backend.entity.Periods;
+import com.mm.backend.entity.SpendAggregate;
+import com.mm.backend.entity.SpendAggregate.Dimension;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.SpendAggregateRepository;
+import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.repository.TransactionRepository.AmountBucket;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 사용자별 월 소비 집계 관리.
+ * - 거래 추가/수정/삭제 시 apply()로 증분 반영 (호출자 트랜잭션 안에서 실행)
+ * - rebuild()/verify()로 원본 거래에서 다시 계산
+ * - getSummary()는 캐시 (거래 저장 / 재계산이 커밋되면 MonthCacheService가 삭제)
+ */
+@Service
+public class SpendAggregateService {
+
+    static final String TOTAL_KEY = "ALL";
+    static final String UNKNOWN_KEY = "Unknown";
+
+    private final SpendAggregateRepository aggregateRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate requiresNew;
+
+    public SpendAggregateService(SpendAggregateRepository aggregateRepository,
+                                 TransactionRepository transactionRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.aggregateRepository = aggregateRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 1) 거래 1건 반영 (sign = +1 추가, -1 삭제)
+    @Transactional
+    public void apply(Transaction t, int sign) {
+        if (t.getMonth() == null) return;
+
+        long amount = t.getAmount() != null ? (long) t.getAmount() * sign : 0L;
+        long count = sign;
+
+        applyDelta(t.getUserId(), t.getMonth(), Dimension.TOTAL, TOTAL_KEY, amount, count);
+        applyDelta(t.getUserId(), t.getMonth(), Dimension.CATEGORY, keyOf(t.getCategory()), amount, count);
+        applyDelta(t.getUserId(), t.getMonth(), Dimension.PAYMENT_METHOD, keyOf(t.getPaymentMethod()), amount, count);
+    }
+
+    // 1-1) 여러 건 일괄 반영 (같은 사용자/월/기준끼리 합쳐서 행마다 한 번만 갱신)
+    @Transactional
+    public void applyAll(Collection<Transaction> transactions) {
+        Map<List<Object>, long[]> deltas = new LinkedHashMap<>();
+        for (Transaction t : transactions) {
+            if (t.getMonth() == null) continue;
+            long amount = t.getAmount() != null ? t.getAmount() : 0L;
+            addDelta(deltas, t.getUserId(), t.getMonth(), Dimension.TOTAL, TOTAL_KEY, amount);
+            addDelta(deltas, t.getUserId(), t.getMonth(), Dimension.CATEGORY, keyOf(t.getCategory()), amount);
+            addDelta(deltas, t.getUserId(), t.getMonth(), Dimension.PAYMENT_METHOD, keyOf(t.getPaymentMethod()), amount);
+        }
+        deltas.forEach((k, d) -> applyDelta((String) k.get(0), (String) k.get(1), (Dimension) k.get(2), (String) k.get(3), d[0], d[1]));
+    }
+
+    // 2) 거래 수정 반영 (이전 값 빼고 새 값 더하기)
+    @Transactional
+    public void replace(Transaction before, Transaction after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    // 3) 월 합계 조회 (집계 행이 없으면 0)
+    @Transactional(readOnly = true)
+    public long getTotal(String userId, String month) {
+        return aggregateRepository.findByUserIdAndMonthAndDimensionAndDimKey(userId, month, Dimension.TOTAL, TOTAL_KEY)
+                .map(SpendAggregate::getAmount)
+                .orElse(0L);
+    }
+
+    // 4) 카테고리 / 결제수단별 합계 조회
+    @Transactional(readOnly = true)
+    public Map<String, Long> getBreakdown(String userId, String month, Dimension dimension) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (SpendAggregate a : aggregateRepository.findByUserIdAndMonthAndDimension(userId, month, dimension)) {
+            if (a.getTxCount() == 0) continue;
+            result.put(a.getDimKey(), a.getAmount());
+        }
+        return result;
+    }
+
+    // 4-1) 월 합계 + 카테고리 / 결제수단별 (캐시, 동시 미적중은 한 번만 계산)
+    @Cacheable(cacheNames = Caches.MONTH_SUMMARIES, key = "T(com.mm.backend.config.Caches).key(#userId, #month)", sync = true)
+    @Transactional(readOnly = true)
+    public MonthSummary getSummary(String userId, String month) {
+        return new MonthSummary(
+                getTotal(userId, month),
+                getBreakdown(userId, month, Dimension.CATEGORY),
+                getBreakdown(userId, month, Dimension.PAYMENT_METHOD)
+        );
+    }
+
+    // 5) 원본 거래로부터 한 달 집계 재계산
+    @Transactional
+    public void rebuild(String userId, String month) {
+        aggregateRepository.deleteByUserIdAndMonth(userId, month);
+        aggregateRepository.flush();
+
+        List<SpendAggregate> rows = new ArrayList<>();
+        computeFromTransactions(userId, month).forEach((dimension, buckets) ->
+                buckets.forEach((key, bucket) -> rows.add(SpendAggregate.builder()
+                        .userId(userId)
+                        .month(month)
+                        .dimension(dimension)
+                        .dimKey(key)
+                        .amount(bucket[0])
+                        .txCount(bucket[1])
+                        .build())));
+
+        aggregateRepository.saveAll(rows);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId, Set.of(Periods.parse(month))));
+    }
+
+    // 6) 한 사용자의 전체 월 재계산 (거래가 모두 지워진 달의 집계도 비움)
+    @Transactional
+    public List<String> rebuildAll(String userId) {
+        Set<String> targets = new TreeSet<>(aggregateRepository.findDistinctMonths(userId));
+        transactionRepository.findDistinctPeriods(userId).forEach(period -> targets.add(Periods.toMonth(period)));
+        List<String> months = List.copyOf(targets);
+        for (String month : months) {
+            rebuild(userId, month);
+        }
+        return months;
+    }
+
+    // 7) 저장된 집계와 원본 거래 합산 비교
+    @Transactional(readOnly = true)
+    public VerifyResult verify(String userId, String month) {
+        List<String> mismatches = new ArrayList<>();
+
+        computeFromTransactions(userId, month).forEach((dimension, expected) -> {
+            Map<String, long[]> stored = new HashMap<>();
+            for (SpendAggregate a : aggregateRepository.findByUserIdAndMonthAndDimension(userId, month, dimension)) {
+                if (a.getTxCount() == 0) continue;
+                stored.put(a.getDimKey(), new long[]{a.getAmount(), a.getTxCount()});
+            }
+
+            expected.forEach((key, bucket) -> {
+                long[] actual = stored.remove(key);
+                if (actual == null || actual[0] != bucket[0] || actual[1] != bucket[1]) {
+                    mismatches.add(describe(dimension, key, bucket, actual));
+                }
+            });
+            stored.forEach((key, actual) -> mismatches.add(describe(dimension, key, null, actual)));
+        });
+
+        return new VerifyResult(month, mismatches.isEmpty(), mismatches);
+    }
+
+    // ---- 내부 구현 ----
+
+    private void applyDelta(String userId, String month, Dimension dimension, String key, long amount, long count) {
+        int updated = aggregateRepository.increment(userId, month, dimension, key, amount, count);
+        if (updated == 0) {
+            createIfAbsent(userId, month, dimension, key);
+            aggregateRepository.increment(userId, month, dimension, key, amount, count);
+        }
+    }
+
+    private static void addDelta(Map<List<Object>, long[]> deltas, String userId, String month, Dimension dimension, String key, long amount) {
+        long[] d = deltas.computeIfAbsent(List.of(userId, month, dimension, key), k -> new long[2]);
+        d[0] += amount;
+        d[1] += 1;
+    }
+
+    // 첫 거래일 때만 0짜리 행을 별도 트랜잭션으로 생성 (동시 생성 충돌은 무시)
+    private void createIfAbsent(String userId, String month, Dimension dimension, String key) {
+        try {
+            requiresNew.executeWithoutResult(status -> aggregateRepository.saveAndFlush(SpendAggregate.builder()
+                    .userId(userId)
+                    .month(month)
+                    .dimension(dimension)
+                    .dimKey(key)
+                    .amount(0L)
+                    .txCount(0L)
+                    .build()));
+        } catch (DataIntegrityViolationException ignore) {
+            // 다른 요청이 먼저 생성함
+        }
+    }
+
+    private Map<Dimension, Map<String, long[]>> computeFromTransactions(String userId, String month) {
+        int period = Periods.parse(month);
+        Map<Dimension, Map<String, long[]>> result = new LinkedHashMap<>();
+        result.put(Dimension.TOTAL, toBuckets(transactionRepository.sumTotal(userId, period)));
+        result.put(Dimension.CATEGORY, toBuckets(transactionRepository.sumByCategory(userId, period)));
+        result.put(Dimension.PAYMENT_METHOD, toBuckets(transactionRepository.sumByPaymentMethod(userId, period)));
+        return result;
+    }
+
+    private Map<String, long[]> toBuckets(List<AmountBucket> rows) {
+        Map<String, long[]> buckets = new LinkedHashMap<>();
+        for (AmountBucket row : rows) {
+            if (row.getCnt() == 0) continue;
+            long[] bucket = buckets.computeIfAbsent(keyOf(row.getBucket()), k -> new long[2]);
+            bucket[0] += row.getTotal();
+            bucket[1] += row.getCnt();
+        }
+        return buckets;
+    }
+
+    private static String keyOf(String value) {
+        return value == null || value.isBlank() ? UNKNOWN_KEY : value;
+    }
+
+    private static String describe(Dimension dimension, String key, long[] expected, long[] actual) {
+        return dimension + "/" + key
+                + " expected=" + (expected == null ? "-" : expected[0] + "원/" + expected[1] + "건")
+                + " stored=" + (actual == null ? "-" : actual[0] + "원/" + actual[1] + "건");
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MonthSummary implements Serializable {
+        private long total;
+        private Map<String, Long> byCategory;
+        private Map<String, Long> byPaymentMethod;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VerifyResult {
+        private String month;
+        private boolean consistent;
+        private List<String> mismatches;
+    }
+}
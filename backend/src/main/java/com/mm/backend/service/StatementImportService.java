@@ -0,0 +1,308 @@
+package com.mm.backend.service;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.service.StatementReader.Format;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 카드사 / 은행 내역(CSV, XLSX) 가져오기.
+ * - 파일을 한 행씩 읽어서 TransactionRequest로 바꾸고 chunkSize건씩 batch insert (메모리 사용량 일정)
+ * - 헤더 행은 앞쪽 header-scan-rows행 안에서 날짜 / 금액 / 가맹점 열 이름으로 찾음 (제목 행 건너뜀)
+ * - 같은 파일을 다시 올려도 중복 저장되지 않도록 행마다 sourceKey (승인번호 또는 행 내용) 부여
+ * - 진행 상황은 chunk마다 NDJSON 한 줄, 마지막 줄은 DONE / FAILED
+ */
+@Slf4j
+@Service
+public class StatementImportService {
+
+    private static final List<String> DATE_HEADERS = List.of("이용일시", "거래일시", "승인일시", "이용일자", "거래일자", "승인일자", "이용일", "거래일", "일시", "날짜", "date", "datetime");
+    private static final List<String> TIME_HEADERS = List.of("이용시간", "거래시간", "승인시간", "시간", "time");
+    private static final List<String> AMOUNT_HEADERS = List.of("이용금액", "승인금액", "거래금액", "결제금액", "출금액", "금액", "amount");
+    private static final List<String> MERCHANT_HEADERS = List.of("가맹점명", "이용가맹점", "가맹점", "이용하신곳", "거래처", "적요", "내용", "merchant", "description");
+    private static final List<String> PAYMENT_HEADERS = List.of("결제수단", "카드명", "이용카드", "카드", "payment", "paymentmethod");
+    private static final List<String> CATEGORY_HEADERS = List.of("카테고리", "분류", "업종", "category");
+    private static final List<String> APPROVAL_HEADERS = List.of("승인번호", "거래번호", "approvalno");
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("uuuu-M-d[ H:mm[:ss]]", Locale.ROOT);
+    private static final DateTimeFormatter COMPACT_DATE = DateTimeFormatter.ofPattern("uuuuMMdd", Locale.ROOT);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("H:mm[:ss]", Locale.ROOT);
+    private static final Pattern DATE_SEPARATORS = Pattern.compile("[./]");
+    private static final Pattern NON_AMOUNT = Pattern.compile("[^0-9-]");
+    private static final int MAX_ERRORS = 20;
+
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final RuleParser ruleParser;
+    private final int chunkSize;
+    private final int headerScanRows;
+    private final ExecutorService importExecutor;
+
+    public StatementImportService(TransactionBatchWriter transactionBatchWriter,
+                                  RuleParser ruleParser,
+                                  WorkerThreads workerThreads,
+                                  @Value("${import.chunk-size:2000}") int chunkSize,
+                                  @Value("${import.header-scan-rows:20}") int headerScanRows,
+                                  @Value("${import.concurrency:2}") int concurrency) {
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.ruleParser = ruleParser;
+        this.chunkSize = chunkSize;
+        this.headerScanRows = headerScanRows;
+        this.importExecutor = workerThreads.boundedIoExecutor("statement-import-", concurrency);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        importExecutor.shutdown();
+        importExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 가져오기 시작. file은 호출자가 요청 스레드에서 임시 파일로 옮겨 둔 것이며, 끝나면 삭제한다.
+     * fileName: 원래 파일명 (.xlsx면 XLSX, 나머지는 CSV)
+     * defaultPaymentMethod: 결제수단 열이 없을 때 쓸 값 (예: 카드 이름)
+     */
+    public void importStatement(String userId, Path file, String fileName, Charset charset,
+                                String defaultPaymentMethod, ResponseBodyEmitter emitter) {
+        Format format = fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".xlsx") ? Format.XLSX : Format.CSV;
+        ImportRun run = new ImportRun(userId, defaultPaymentMethod, emitter);
+        importExecutor.execute(() -> {
+            try {
+                StatementReader.read(file, format, charset, run::row);
+                run.finish();
+            } catch (Exception e) {
+                log.warn("statement import failed, user={}", userId, e);
+                run.fail(e);
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("temp file delete failed: {}", file, e);
+                }
+            }
+        });
+    }
+
+    // ---- 값 변환 ----
+
+    // "2025.11.03 12:30", "2025/11/03", "2025-11-03T12:30:00", "20251103" (+ 별도 시간 열)
+    static LocalDateTime parseDatetime(String date, String time) {
+        String d = DATE_SEPARATORS.matcher(date.trim().replace('T', ' ')).replaceAll("-")
+                .replaceAll("-\\s+", "-");
+        if (d.endsWith("-")) d = d.substring(0, d.length() - 1);
+        LocalDateTime result;
+        if (d.length() == 8 && d.chars().allMatch(Character::isDigit)) {
+            result = LocalDate.parse(d, COMPACT_DATE).atStartOfDay();
+        } else {
+            var parsed = DATE_TIME.parseBest(d.replaceAll("\\s+", " "), LocalDateTime::from, LocalDate::from);
+            result = parsed instanceof LocalDateTime dt ? dt : ((LocalDate) parsed).atStartOfDay();
+        }
+        if (time != null && !time.isBlank() && result.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            result = result.toLocalDate().atTime(LocalTime.parse(time.trim(), TIME));
+        }
+        return result;
+    }
+
+    // "12,300", "-4,500원", "₩ 9000", "9000.00" → 정수 (취소 / 환불은 음수 그대로)
+    static Integer parseAmount(String value) {
+        int dot = value.indexOf('.');
+        String digits = NON_AMOUNT.matcher(dot >= 0 ? value.substring(0, dot) : value).replaceAll("");
+        if (digits.isEmpty() || digits.equals("-")) return null;
+        return Integer.parseInt(digits);
+    }
+
+    private static String normalizeHeader(String header) {
+        return header.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    /** 헤더 행에서 찾은 열 위치 (-1: 없음) */
+    private static class Columns {
+        int date = -1, time = -1, amount = -1, merchant = -1, payment = -1, category = -1, approval = -1;
+
+        static Columns detect(List<String> header) {
+            List<String> names = header.stream().map(StatementImportService::normalizeHeader).toList();
+            Columns c = new Columns();
+            c.date = find(names, DATE_HEADERS);
+            c.time = find(names, TIME_HEADERS);
+            c.amount = find(names, AMOUNT_HEADERS);
+            c.merchant = find(names, MERCHANT_HEADERS);
+            c.payment = find(names, PAYMENT_HEADERS);
+            c.category = find(names, CATEGORY_HEADERS);
+            c.approval = find(names, APPROVAL_HEADERS);
+            return c.date >= 0 && c.amount >= 0 && c.merchant >= 0 ? c : null;
+        }
+
+        // 앞쪽 후보 이름이 우선
+        private static int find(List<String> names, List<String> candidates) {
+            for (String candidate : candidates) {
+                int idx = names.indexOf(candidate);
+                if (idx >= 0) return idx;
+            }
+            return -1;
+        }
+    }
+
+    /** 가져오기 1회 실행 상태 (importExecutor의 한 스레드에서만 접근) */
+    private class ImportRun {
+        private final String userId;
+        private final String defaultPaymentMethod;
+        private final ResponseBodyEmitter emitter;
+        private final long startedAt = System.nanoTime();
+
+        private final List<TransactionRequest> pending = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private Columns columns;
+        private long rowNum;
+        private long rows;
+        private long saved;
+        private long duplicates;
+        private long failed;
+
+        // 같은 내용이 연속으로 나오는 행 구분 (같은 시각에 같은 금액을 두 번 결제한 경우)
+        private String previousKey;
+        private int repeat;
+
+        ImportRun(String userId, String defaultPaymentMethod, ResponseBodyEmitter emitter) {
+            this.userId = userId;
+            this.defaultPaymentMethod = defaultPaymentMethod;
+            this.emitter = emitter;
+        }
+
+        void row(List<String> cells) {
+            rowNum++;
+            if (columns == null) {
+                columns = Columns.detect(cells);
+                if (columns == null && rowNum >= headerScanRows) {
+                    throw new IllegalArgumentException("헤더 행을 찾을 수 없습니다 (날짜 / 금액 / 가맹점 열 필요)");
+                }
+                return;
+            }
+            if (cells.stream().allMatch(String::isBlank)) return;
+
+            rows++;
+            try {
+                pending.add(toRequest(cells));
+            } catch (RuntimeException e) {
+                failed++;
+                if (errors.size() < MAX_ERRORS) errors.add("row " + rowNum + ": " + e.getMessage());
+                return;
+            }
+            if (pending.size() >= chunkSize) flush();
+        }
+
+        private TransactionRequest toRequest(List<String> cells) {
+            String date = cell(cells, columns.date);
+            if (date.isBlank()) throw new IllegalArgumentException("날짜 없음");
+            Integer amount = parseAmount(cell(cells, columns.amount));
+            if (amount == null) throw new IllegalArgumentException("금액 없음");
+
+            TransactionRequest req = new TransactionRequest();
+            try {
+                req.setDatetime(parseDatetime(date, columns.time >= 0 ? cell(cells, columns.time) : null));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("날짜 형식 오류: " + date);
+            }
+            req.setAmount(amount);
+            req.setMerchant(blankToDefault(cell(cells, columns.merchant).trim(), "Unknown"));
+            req.setPaymentMethod(blankToDefault(columns.payment >= 0 ? cell(cells, columns.payment).trim() : "",
+                    defaultPaymentMethod != null ? defaultPaymentMethod : "Unknown"));
+            String category = columns.category >= 0 ? cell(cells, columns.category).trim() : "";
+            req.setCategory(!category.isEmpty() ? category : ruleParser.parse(req.getMerchant()).getCategory());
+            req.setSourceKey(sourceKeyOf(req, columns.approval >= 0 ? cell(cells, columns.approval).trim() : ""));
+            return req;
+        }
+
+        // 승인번호가 있으면 승인번호 + 금액 (취소 행은 같은 승인번호에 음수 금액), 없으면 행 내용 + 연속 반복 순번
+        private String sourceKeyOf(TransactionRequest req, String approval) {
+            if (!approval.isEmpty()) return "approval:" + approval + "|" + req.getAmount();
+
+            String key = req.getDatetime() + "|" + req.getAmount() + "|" + req.getMerchant();
+            repeat = key.equals(previousKey) ? repeat + 1 : 0;
+            previousKey = key;
+            return "row:" + key + "#" + repeat;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) return;
+            int inserted = transactionBatchWriter.insertAll(userId, pending).size();
+            saved += inserted;
+            duplicates += pending.size() - inserted;
+            pending.clear();
+            send(progress("RUNNING", null));
+        }
+
+        void finish() {
+            if (columns == null) throw new IllegalArgumentException("헤더 행을 찾을 수 없습니다 (날짜 / 금액 / 가맹점 열 필요)");
+            flush();
+            send(progress("DONE", null));
+            emitter.complete();
+        }
+
+        void fail(Exception e) {
+            send(progress("FAILED", e.getMessage()));
+            emitter.complete();
+        }
+
+        private ImportProgress progress(String status, String error) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return new ImportProgress(status, rows, saved, duplicates, failed, elapsedMs,
+                    "RUNNING".equals(status) ? List.of() : List.copyOf(errors), error);
+        }
+
+        private void send(Object line) {
+            try {
+                emitter.send(line, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 끊김 → 가져오기는 계속 진행
+            }
+        }
+
+        private static String cell(List<String> cells, int idx) {
+            return idx < cells.size() ? cells.get(idx) : "";
+        }
+
+        private static String blankToDefault(String value, String defaultValue) {
+            return value.isEmpty() ? defaultValue : value;
+        }
+    }
+
+    // ==== DTO ====
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImportProgress {
+        private String status;       // RUNNING, DONE, FAILED
+        private long rows;           // 읽은 데이터 행 수
+        private long saved;          // 새로 저장
+        private long duplicates;     // 이미 저장된 행 (다시 가져오기)
+        private long failed;         // 날짜 / 금액을 읽을 수 없는 행
+        private long elapsedMs;
+        private List<String> errors; // 실패 행 예시 (최대 20건, 마지막 줄에만)
+        private String error;        // FAILED 사유
+    }
+}
@@ -0,0 +1,171 @@
+package com.mm.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * 카드사 / 은행 내역 파일을 한 행씩 읽기 (파일 전체를 메모리에 올리지 않음).
+ * - CSV: RFC 4180 (따옴표 안의 쉼표 / 줄바꿈, "" 이스케이프), UTF-8 BOM 무시
+ * - XLSX: 첫 번째 시트를 SAX로 읽음, 날짜 서식 셀은 ISO 문자열(2025-11-03T12:30)로
+ */
+final class StatementReader {
+
+    enum Format { CSV, XLSX }
+
+    @FunctionalInterface
+    interface RowHandler {
+        void row(List<String> cells);
+    }
+
+    private StatementReader() {
+    }
+
+    static void read(Path file, Format format, Charset charset, RowHandler handler) throws IOException {
+        if (format == Format.XLSX) readXlsx(file, handler);
+        else readCsv(file, charset, handler);
+    }
+
+    // ---- CSV ----
+
+    static void readCsv(Path file, Charset charset, RowHandler handler) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, charset)) {
+            in.mark(1);
+            if (in.read() != '\uFEFF') in.reset(); // UTF-8 BOM
+
+            List<String> row = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            boolean rowHasData = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            cell.append('"');
+                        } else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        cell.append((char) c);
+                    }
+                    continue;
+                }
+                switch (c) {
+                    case '"' -> {
+                        quoted = true;
+                        rowHasData = true;
+                    }
+                    case ',' -> {
+                        row.add(cell.toString());
+                        cell.setLength(0);
+                        rowHasData = true;
+                    }
+                    case '\r' -> {
+                        // \r\n, \r 모두 줄 끝
+                        in.mark(1);
+                        if (in.read() != '\n') in.reset();
+                        rowHasData = emit(row, cell, rowHasData, handler);
+                    }
+                    case '\n' -> rowHasData = emit(row, cell, rowHasData, handler);
+                    default -> {
+                        cell.append((char) c);
+                        rowHasData = true;
+                    }
+                }
+            }
+            emit(row, cell, rowHasData, handler);
+        }
+    }
+
+    private static boolean emit(List<String> row, StringBuilder cell, boolean rowHasData, RowHandler handler) {
+        if (rowHasData) {
+            row.add(cell.toString());
+            handler.row(List.copyOf(row));
+        }
+        row.clear();
+        cell.setLength(0);
+        return false;
+    }
+
+    // ---- XLSX ----
+
+    static void readXlsx(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) return;
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), null, strings, new SheetRows(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Invalid xlsx file: " + e.getMessage(), e);
+        }
+    }
+
+    /** 셀 단위 이벤트 → 행 (비어 있는 셀은 "" 로 채움) */
+    private static class SheetRows implements SheetContentsHandler {
+        private final RowHandler handler;
+        private final List<String> row = new ArrayList<>();
+
+        SheetRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            row.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!row.isEmpty()) handler.row(List.copyOf(row));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : row.size();
+            while (row.size() < col) row.add("");
+            row.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+
+    /** 날짜 서식 셀은 표시 형식(11/3/25 등) 대신 ISO 문자열로 */
+    private static class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+}
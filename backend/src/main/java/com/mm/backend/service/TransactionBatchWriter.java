@@ -0,0 +1,89 @@
+package com.mm.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mm.backend.config.Stages;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * 여러 건의 소비 내역을 batch insert로 한 번에 저장.
+ * id는 시퀀스에서 미리 받아 두므로(Transaction.ALLOCATION_SIZE) Hibernate가
+ * hibernate.jdbc.batch_size 건씩 묶어서 insert 한다.
+ */
+@Component
+public class TransactionBatchWriter {
+
+    private final TransactionRepository transactionRepository;
+    private final SpendAggregateService spendAggregateService;
+    private final RawTextStore rawTextStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObservationRegistry observationRegistry;
+
+    public TransactionBatchWriter(TransactionRepository transactionRepository,
+                                  SpendAggregateService spendAggregateService,
+                                  RawTextStore rawTextStore,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObservationRegistry observationRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.spendAggregateService = spendAggregateService;
+        this.rawTextStore = rawTextStore;
+        this.eventPublisher = eventPublisher;
+        this.observationRegistry = observationRegistry;
+    }
+
+    // 저장 + 월별 집계 반영 (한 트랜잭션) - 이미 저장된 거래는 건너뛰고 새로 저장한 행만 반환
+    @Transactional
+    public List<Transaction> insertAll(String userId, List<TransactionRequest> requests) {
+        Map<String, String> hashes = rawTextStore.storeAll(requests.stream().map(TransactionRequest::getRawText).toList());
+
+        List<Transaction> rows = new ArrayList<>(requests.size());
+        Set<String> seenKeys = new HashSet<>();
+        for (TransactionRequest req : requests) {
+            Transaction t = new Transaction();
+            t.setUserId(userId);
+            t.setMonth(req.getMonth());
+            t.setDatetime(TransactionService.resolveDatetime(req));
+            t.setAmount(req.getAmount());
+            t.setMerchant(req.getMerchant());
+            t.setPaymentMethod(req.getPaymentMethod());
+            t.setCategory(req.getCategory());
+            t.setRawText(req.getRawText());
+            t.setRawTextHash(req.getRawText() != null ? hashes.get(req.getRawText()) : null);
+            t.setDedupKey(TransactionService.dedupKeyOf(userId, t.getRawTextHash(), req));
+            t.syncPeriod(); // dedup 비교 전에 period 확정 (저장 시 @PrePersist에서도 다시 호출됨)
+            if (t.getDedupKey() == null || seenKeys.add(t.getDedupKey())) rows.add(t);
+        }
+
+        // 이미 저장된 원문은 건너뜀 (같은 배치를 다시 올려도 중복 저장 안 됨)
+        if (!seenKeys.isEmpty()) {
+            Set<String> existing = new HashSet<>(transactionRepository.findExistingDedupKeys(userId, seenKeys));
+            rows.removeIf(t -> t.getDedupKey() != null && existing.contains(t.getDedupKey()));
+        }
+        if (rows.isEmpty()) return rows;
+
+        Observation.createNotStarted(Stages.DB_SAVE, observationRegistry)
+                .lowCardinalityKeyValue("mode", "batch")
+                .observe(() -> {
+                    transactionRepository.saveAll(rows);
+                    transactionRepository.flush();
+                    spendAggregateService.applyAll(rows);
+                });
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId,
+                rows.stream().map(Transaction::getPeriod).collect(Collectors.toSet())));
+        return rows;
+    }
+}
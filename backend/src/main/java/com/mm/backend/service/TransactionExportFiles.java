@@ -0,0 +1,210 @@
+package com.mm.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.mm.backend.entity.Transaction;
+
+/**
+ * 거래 내보내기 파일 (한 달치 = Arrow IPC 파일 + gzip CSV 한 쌍).
+ * - Arrow: batchRows행씩 record batch, 버퍼는 LZ4 압축 (pyarrow / DuckDB / Polars에서 바로 읽힘)
+ * - CSV: 같은 열, RFC 4180 따옴표 처리, gzip
+ * - 쓰는 동안은 .tmp, 닫을 때 part-{첫 id}-{마지막 id}.* 로 이름 변경 (중간에 실패하면 완성된 파일만 남음)
+ */
+final class TransactionExportFiles {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "user_id", "period", "datetime", "amount", "merchant", "payment_method", "category", "raw_text_hash");
+
+    // datetime: 시간대 없는 벽시계 시각 (Arrow의 timezone 없는 timestamp)
+    static final Schema SCHEMA = new Schema(List.of(
+            Field.notNullable("id", new ArrowType.Int(64, true)),
+            Field.nullable("user_id", ArrowType.Utf8.INSTANCE),
+            Field.nullable("period", new ArrowType.Int(32, true)),
+            Field.nullable("datetime", new ArrowType.Timestamp(TimeUnit.MILLISECOND, null)),
+            Field.nullable("amount", new ArrowType.Int(32, true)),
+            Field.nullable("merchant", ArrowType.Utf8.INSTANCE),
+            Field.nullable("payment_method", ArrowType.Utf8.INSTANCE),
+            Field.nullable("category", ArrowType.Utf8.INSTANCE),
+            Field.nullable("raw_text_hash", ArrowType.Utf8.INSTANCE)));
+
+    private TransactionExportFiles() {
+    }
+
+    /** 한 달치 파일 쓰기 (한 스레드에서만 사용) */
+    static class MonthWriter implements Closeable {
+        private final Path dir;
+        private final int batchRows;
+        private final VectorSchemaRoot root;
+        private final ArrowFileWriter arrow;
+        private final Writer csv;
+        private final Path arrowTmp;
+        private final Path csvTmp;
+
+        private long firstId = -1;
+        private long lastId = -1;
+        private long rows;
+        private int batchCount;
+
+        MonthWriter(Path dir, BufferAllocator allocator, int batchRows) throws IOException {
+            this.dir = dir;
+            this.batchRows = batchRows;
+            Files.createDirectories(dir);
+            this.arrowTmp = Files.createTempFile(dir, "part-", ".arrow.tmp");
+            this.csvTmp = Files.createTempFile(dir, "part-", ".csv.gz.tmp");
+
+            this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+            this.root.allocateNew();
+            FileChannel channel = FileChannel.open(arrowTmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.arrow = new ArrowFileWriter(root, null, channel, null, IpcOption.DEFAULT,
+                    CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.LZ4_FRAME);
+            this.arrow.start();
+
+            this.csv = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(csvTmp), 65536), StandardCharsets.UTF_8));
+            this.csv.write(String.join(",", COLUMNS));
+            this.csv.write('\n');
+        }
+
+        void add(Transaction t) throws IOException {
+            int i = batchCount;
+            ((BigIntVector) root.getVector("id")).setSafe(i, t.getId());
+            setString("user_id", i, t.getUserId());
+            setInt("period", i, t.getPeriod());
+            TimeStampMilliVector datetime = (TimeStampMilliVector) root.getVector("datetime");
+            if (t.getDatetime() != null) datetime.setSafe(i, toEpochMilli(t.getDatetime()));
+            else datetime.setNull(i);
+            setInt("amount", i, t.getAmount());
+            setString("merchant", i, t.getMerchant());
+            setString("payment_method", i, t.getPaymentMethod());
+            setString("category", i, t.getCategory());
+            setString("raw_text_hash", i, t.getRawTextHash());
+            if (++batchCount >= batchRows) writeBatch();
+
+            csvRow(t);
+
+            if (firstId < 0) firstId = t.getId();
+            lastId = t.getId();
+            rows++;
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        /** 남은 batch 쓰고 닫은 뒤 최종 이름으로 변경 → 만들어진 파일 */
+        List<Path> finish() throws IOException {
+            close();
+            String base = "part-" + firstId + "-" + lastId;
+            Path arrowFile = dir.resolve(base + ".arrow");
+            Path csvFile = dir.resolve(base + ".csv.gz");
+            Files.move(arrowTmp, arrowFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(csvTmp, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return List.of(arrowFile, csvFile);
+        }
+
+        /** 실패 시: 닫고 임시 파일 삭제 */
+        void abort() {
+            try {
+                close();
+            } catch (IOException | RuntimeException ignore) {
+                // 이미 실패한 내보내기
+            }
+            try {
+                Files.deleteIfExists(arrowTmp);
+                Files.deleteIfExists(csvTmp);
+            } catch (IOException ignore) {
+                // 다음 내보내기에 영향 없음 (.tmp는 읽는 쪽에서 무시)
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (batchCount > 0) writeBatch();
+                arrow.end();
+            } finally {
+                arrow.close();
+                root.close();
+                csv.close();
+            }
+        }
+
+        private void writeBatch() throws IOException {
+            root.setRowCount(batchCount);
+            arrow.writeBatch();
+            root.allocateNew();
+            batchCount = 0;
+        }
+
+        private void setString(String column, int i, String value) {
+            VarCharVector v = (VarCharVector) root.getVector(column);
+            if (value != null) v.setSafe(i, value.getBytes(StandardCharsets.UTF_8));
+            else v.setNull(i);
+        }
+
+        private void setInt(String column, int i, Integer value) {
+            IntVector v = (IntVector) root.getVector(column);
+            if (value != null) v.setSafe(i, value);
+            else v.setNull(i);
+        }
+
+        private void csvRow(Transaction t) throws IOException {
+            csv.write(String.valueOf(t.getId()));
+            csvCell(t.getUserId());
+            csvCell(t.getPeriod());
+            csvCell(t.getDatetime());
+            csvCell(t.getAmount());
+            csvCell(t.getMerchant());
+            csvCell(t.getPaymentMethod());
+            csvCell(t.getCategory());
+            csvCell(t.getRawTextHash());
+            csv.write('\n');
+        }
+
+        private void csvCell(Object value) throws IOException {
+            csv.write(',');
+            if (value == null) return;
+            String s = value.toString();
+            if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+                csv.write('"');
+                csv.write(s.replace("\"", "\"\""));
+                csv.write('"');
+            } else {
+                csv.write(s);
+            }
+        }
+
+        private static long toEpochMilli(LocalDateTime datetime) {
+            return datetime.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+    }
+}
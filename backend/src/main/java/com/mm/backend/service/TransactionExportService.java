@@ -0,0 +1,255 @@
+package com.mm.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.entity.ExportCheckpoint;
+import com.mm.backend.entity.Periods;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.ExportCheckpointRepository;
+import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.service.TransactionExportFiles.MonthWriter;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 오프라인 분석용 거래 내보내기 (pandas / DuckDB 등에서 바로 읽는 열 기반 파일).
+ * - 읽기 전용 트랜잭션 안에서 커서로 한 행씩 읽고 바로 detach (메모리 사용량 일정)
+ * - {export.dir}/{userId}/month=YYYY-MM/part-{첫 id}-{마지막 id}.arrow (LZ4) + .csv.gz
+ * - 증분: createdAt이 [지난 watermark, 지금 - grace) 인 행만 (full=true면 기존 파일 지우고 처음부터)
+ *   id는 시퀀스를 미리 받아 쓰고 커밋 순서와 달라서 id 기준으로는 늦게 커밋된 행이 빠짐 →
+ *   grace보다 오래된 행은 이미 커밋됐으므로 watermark가 커밋 안 된 행을 넘지 않음
+ * - 진행 상황은 달마다 NDJSON 한 줄, 마지막 줄은 DONE / FAILED
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+
+    private static final String UNKNOWN_MONTH = "unknown";
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TransactionRepository transactionRepository;
+    private final ExportCheckpointRepository checkpointRepository;
+    private final TransactionTemplate readOnly;
+    private final Path baseDir;
+    private final int batchRows;
+    private final Duration grace;
+    private final ExecutorService exportExecutor;
+
+    // 같은 사용자의 내보내기가 겹치면 checkpoint / 파일이 꼬이므로 한 번에 하나만
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    ExportCheckpointRepository checkpointRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    WorkerThreads workerThreads,
+                                    @Value("${export.dir:./exports}") String dir,
+                                    @Value("${export.batch-rows:8192}") int batchRows,
+                                    @Value("${export.grace-seconds:300}") long graceSeconds,
+                                    @Value("${export.concurrency:1}") int concurrency) {
+        this.transactionRepository = transactionRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.baseDir = Paths.get(dir).toAbsolutePath().normalize();
+        this.batchRows = batchRows;
+        this.grace = Duration.ofSeconds(graceSeconds);
+        this.exportExecutor = workerThreads.boundedIoExecutor("transaction-export-", concurrency);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        exportExecutor.shutdown();
+        exportExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /** 내보내기 시작 (full: 기존 파일 / 진행 위치를 버리고 전체 다시) */
+    public void export(String userId, boolean full, ResponseBodyEmitter emitter) {
+        ExportRun run = new ExportRun(userId, emitter);
+        if (!running.add(userId)) {
+            run.fail(new IllegalStateException("이미 내보내기 중입니다"));
+            return;
+        }
+        exportExecutor.execute(() -> {
+            try {
+                run.execute(full);
+            } catch (Exception e) {
+                log.warn("transaction export failed, user={}", userId, e);
+                run.fail(e);
+            } finally {
+                running.remove(userId);
+            }
+        });
+    }
+
+    // 사용자 디렉터리 (X-User-Id가 경로 밖을 가리키지 않도록 확인)
+    private Path userDir(String userId) {
+        Path dir = baseDir.resolve(userId).normalize();
+        if (!dir.startsWith(baseDir) || dir.equals(baseDir)) {
+            throw new IllegalArgumentException("잘못된 사용자 ID: " + userId);
+        }
+        return dir;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    /** 내보내기 1회 실행 상태 (exportExecutor의 한 스레드에서만 접근) */
+    private class ExportRun {
+        private final String userId;
+        private final ResponseBodyEmitter emitter;
+        private final long startedAt = System.nanoTime();
+
+        private final List<String> files = new ArrayList<>();
+        private long rows;
+        private int months;
+        private LocalDateTime watermark;
+
+        ExportRun(String userId, ResponseBodyEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void execute(boolean full) throws IOException {
+            // 1) 범위: [지난 watermark, 지금 - grace) (처음이면 createdAt 없는 예전 행까지)
+            Path dir = userDir(userId);
+            ExportCheckpoint checkpoint = full ? null : checkpointRepository.findById(userId).orElse(null);
+            if (checkpoint != null && checkpoint.getWatermark() == null) {
+                checkpoint = null; // 예전 형식(id 기준) 진행 위치 → 처음부터 다시
+                full = true;
+            }
+            if (full) {
+                checkpointRepository.deleteById(userId);
+                deleteRecursively(dir);
+            }
+            boolean first = checkpoint == null;
+            LocalDateTime from = first ? BEGINNING : checkpoint.getWatermark();
+            LocalDateTime to = LocalDateTime.now().minus(grace);
+            watermark = from.isAfter(to) ? from : to;
+
+            // 2) 달 순서로 읽으면서 달이 바뀔 때마다 파일 한 쌍 완성
+            try (BufferAllocator allocator = new RootAllocator()) {
+                readOnly.executeWithoutResult(status -> {
+                    try (Stream<Transaction> stream = transactionRepository.streamForExport(userId, from, watermark, first)) {
+                        writeMonths(stream, dir, allocator);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("파일 쓰기 실패: " + e.getMessage(), e);
+                    }
+                });
+            }
+
+            // 3) 모든 파일이 완성된 뒤에만 진행 위치 저장 (중간에 실패하면 다음 번에 같은 범위를 다시 내보냄)
+            if (!watermark.equals(from)) {
+                long total = (checkpoint != null && checkpoint.getRows() != null ? checkpoint.getRows() : 0L) + rows;
+                checkpointRepository.save(ExportCheckpoint.builder()
+                        .userId(userId)
+                        .watermark(watermark)
+                        .rows(total)
+                        .exportedAt(LocalDateTime.now())
+                        .build());
+            }
+            send(progress("DONE", null));
+            emitter.complete();
+        }
+
+        private void writeMonths(Stream<Transaction> stream, Path dir, BufferAllocator allocator) throws IOException {
+            MonthWriter writer = null;
+            String month = null;
+            try {
+                for (Transaction t : (Iterable<Transaction>) stream::iterator) {
+                    em.detach(t);
+                    String m = t.getPeriod() != null ? Periods.toMonth(t.getPeriod()) : UNKNOWN_MONTH;
+                    if (writer == null || !m.equals(month)) {
+                        if (writer != null) finishMonth(writer);
+                        writer = new MonthWriter(dir.resolve("month=" + m), allocator, batchRows);
+                        month = m;
+                    }
+                    writer.add(t);
+                }
+                if (writer != null) finishMonth(writer);
+                writer = null;
+            } finally {
+                if (writer != null) writer.abort();
+            }
+        }
+
+        private void finishMonth(MonthWriter writer) throws IOException {
+            rows += writer.getRows();
+            months++;
+            for (Path p : writer.finish()) {
+                files.add(baseDir.relativize(p).toString());
+            }
+            send(progress("RUNNING", null));
+        }
+
+        void fail(Exception e) {
+            send(progress("FAILED", e.getMessage()));
+            emitter.complete();
+        }
+
+        private ExportProgress progress(String status, String error) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return new ExportProgress(status, rows, months, watermark, elapsedMs,
+                    "RUNNING".equals(status) ? List.of() : List.copyOf(files), error);
+        }
+
+        private void send(Object line) {
+            try {
+                emitter.send(line, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 끊김 → 내보내기는 계속 진행
+            }
+        }
+    }
+
+    // ==== DTO ====
+
+    @Getter
+    @AllArgsConstructor
+    public static class ExportProgress {
+        private String status;       // RUNNING, DONE, FAILED
+        private long rows;           // 이번에 내보낸 행 수
+        private int months;          // 완성된 달 파티션 수
+        private LocalDateTime watermark; // 이 시각 전에 만들어진 행까지 내보냄 (다음 증분의 시작 위치)
+        private long elapsedMs;
+        private List<String> files;  // 만들어진 파일 (export.dir 기준 경로, 마지막 줄에만)
+        private String error;        // FAILED 사유
+    }
+}
@@ -1,40 +1,219 @@
 package com.mm.backend.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.mm.backend.config.Caches;
+import com.mm.backend.config.Stages;
+import com.mm.backend.entity.Periods;
 import com.mm.backend.entity.Transaction;
 import com.mm.backend.repository.TransactionRepository;
+import com.mm.backend.repository.TransactionRepositoryCustom.PageQuery;
+import com.mm.backend.repository.TransactionSummary;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 @Service
 public class TransactionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final TransactionRepository transactionRepository;
+    private final SpendAggregateService spendAggregateService;
+    private final RawTextStore rawTextStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObservationRegistry observationRegistry;
 
     // 생성자 직접 작성 (Lombok 없이 확실하게)
-    public TransactionService(TransactionRepository transactionRepository) {
+    public TransactionService(TransactionRepository transactionRepository,
+                              SpendAggregateService spendAggregateService,
+                              RawTextStore rawTextStore,
+                              ApplicationEventPublisher eventPublisher,
+                              ObservationRegistry observationRegistry) {
         this.transactionRepository = transactionRepository;
+        this.spendAggregateService = spendAggregateService;
+        this.rawTextStore = rawTextStore;
+        this.eventPublisher = eventPublisher;
+        this.observationRegistry = observationRegistry;
     }
 
-    // 소비 저장
-    public Transaction addTransaction(TransactionRequest req) {
+    // 소비 저장 (월별 집계도 같은 트랜잭션에서 갱신)
+    @Transactional
+    public Transaction addTransaction(String userId, TransactionRequest req) {
 
         Transaction t = new Transaction();
+        t.setUserId(userId);
         t.setMonth(req.getMonth());
-        t.setDatetime(req.getDatetime() != null ? req.getDatetime() : LocalDateTime.now());
+        t.setDatetime(resolveDatetime(req));
         t.setAmount(req.getAmount());
         t.setMerchant(req.getMerchant());
         t.setPaymentMethod(req.getPaymentMethod());
         t.setCategory(req.getCategory());
         t.setRawText(req.getRawText());
+        t.setRawTextHash(rawTextStore.store(req.getRawText()));
+        t.setDedupKey(dedupKeyOf(userId, t.getRawTextHash(), req));
+
+        // 같은 원문으로 이미 저장된 거래가 있으면 그대로 반환 (재시도해도 중복 저장 안 됨)
+        if (t.getDedupKey() != null) {
+            Optional<Transaction> existing = transactionRepository.findByUserIdAndDedupKey(userId, t.getDedupKey());
+            if (existing.isPresent()) {
+                existing.get().setRawText(req.getRawText());
+                return existing.get();
+            }
+        }
+
+        Transaction saved = Observation.createNotStarted(Stages.DB_SAVE, observationRegistry)
+                .lowCardinalityKeyValue("mode", "single")
+                .observe(() -> {
+                    Transaction row = transactionRepository.save(t);
+                    spendAggregateService.apply(row, 1);
+                    return row;
+                });
+        eventPublisher.publishEvent(new TransactionsChangedEvent(userId, Set.of(saved.getPeriod())));
+        return saved;
+    }
 
-        return transactionRepository.save(t);
+    // 월 거래 목록 (캐시, 그 달에 거래가 저장되면 커밋 후 삭제)
+    @Cacheable(cacheNames = Caches.MONTH_TRANSACTIONS, key = "T(com.mm.backend.config.Caches).key(#userId, #month)", sync = true)
+    public List<Transaction> getTransactionsByMonth(String userId, String month) {
+        return transactionRepository.findByUserIdAndPeriodOrderByDatetimeAsc(userId, Periods.parse(month));
     }
 
-    public List<Transaction> getTransactionsByMonth(String month) {
-        return transactionRepository.findByMonth(month);
+    // 원본 텍스트 조회 (감사/재파싱용, 보관 기간이 지났거나 다른 사용자의 거래면 empty)
+    @Transactional(readOnly = true)
+    public Optional<String> getRawText(String userId, Long id) {
+        return transactionRepository.findByIdAndUserId(id, userId)
+                .flatMap(t -> rawTextStore.load(t.getRawTextHash()));
+    }
+
+    // 여러 달 범위 조회 ("2025-01" ~ "2025-06", 양 끝 포함)
+    public List<Transaction> getTransactionsByMonthRange(String userId, String fromMonth, String toMonth) {
+        return transactionRepository.findByUserIdAndPeriodBetweenOrderByDatetimeAsc(
+                userId, Periods.parse(fromMonth), Periods.parse(toMonth));
+    }
+
+    /**
+     * 결제 시각이 없으면: month가 이번 달이 아니면 그 달 1일 0시, 아니면 현재 시각.
+     * (period / month는 저장 시 datetime 기준으로 맞춰지므로 month만 준 요청이 이번 달로 가지 않게)
+     */
+    static LocalDateTime resolveDatetime(TransactionRequest req) {
+        if (req.getDatetime() != null) return req.getDatetime();
+
+        LocalDateTime now = LocalDateTime.now();
+        if (req.getMonth() != null) {
+            int period = Periods.parse(req.getMonth());
+            if (period != Periods.of(now)) {
+                return YearMonth.of(period / 100, period % 100).atDay(1).atStartOfDay();
+            }
+        }
+        return now;
+    }
+
+    /**
+     * 중복 저장 방지 키 = SHA-256(사용자 | 원문 해시 | 금액 | 가맹점 | 결제 시각).
+     * 원문 blob은 사용자끼리 공유되지만, 같은 문자를 받은 다른 사용자의 거래와는 겹치지 않게 사용자를 넣는다.
+     * 원문이 없으면 sourceKey(내역 파일 가져오기의 행 식별자)를 대신 쓰고,
+     * 둘 다 없는 직접 입력 거래는 같은 내용을 여러 번 넣을 수 있어야 하므로 null.
+     * 결제 시각을 못 읽은 거래는 같은 문자로 온 실제 결제 두 건과 구분할 수 없으므로
+     * sourceKey(가져오기 행, 비동기 작업 id)가 있을 때만 그것으로 키를 만든다.
+     */
+    static String dedupKeyOf(String userId, String rawTextHash, TransactionRequest req) {
+        if (req.getDatetime() == null) {
+            if (req.getSourceKey() == null) return null;
+            return RawTextStore.hashOf(userId + "|source:" + req.getSourceKey() + "|" + req.getAmount() + "|" + req.getMerchant());
+        }
+        String source = rawTextHash != null ? rawTextHash
+                : req.getSourceKey() != null ? "source:" + req.getSourceKey() : null;
+        if (source == null) return null;
+        return RawTextStore.hashOf(userId + "|" + source + "|" + req.getAmount() + "|" + req.getMerchant() + "|" + req.getDatetime());
+    }
+
+    // 최신순 keyset 페이지 조회 (cursor = 이전 페이지의 nextCursor)
+    @Transactional(readOnly = true)
+    public TransactionPage getPage(PageQuery.PageQueryBuilder query, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor c = decodeCursor(cursor);
+            query.afterDatetime(c.datetime()).afterId(c.id());
+        }
+
+        // 한 건 더 읽어서 다음 페이지 여부 판단
+        PageQuery q = query.build();
+        boolean includeRawText = q.isIncludeRawText();
+        List<TransactionSummary> rows = transactionRepository.findPage(q, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<TransactionSummary> items = hasNext ? rows.subList(0, limit) : rows;
+
+        // 원문은 요청했을 때만 따로 읽어서 채움
+        if (includeRawText) {
+            Map<String, String> texts = rawTextStore.loadAll(items.stream().map(TransactionSummary::getRawTextHash).toList());
+            items.forEach(item -> item.setRawText(texts.get(item.getRawTextHash())));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionSummary last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getDatetime(), last.getId());
+        }
+        return new TransactionPage(items, nextCursor, hasNext);
+    }
+
+    private static String encodeCursor(LocalDateTime datetime, Long id) {
+        String raw = datetime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 틀린 커서는 전부 IllegalArgumentException (→ 400)
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) throw new IllegalArgumentException();
+            return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private record Cursor(LocalDateTime datetime, long id) {
+    }
+
+    public static class TransactionPage {
+        private final List<TransactionSummary> items;
+        private final String nextCursor;
+        private final boolean hasNext;
+
+        public TransactionPage(List<TransactionSummary> items, String nextCursor, boolean hasNext) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.hasNext = hasNext;
+        }
+
+        public List<TransactionSummary> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
     }
 
     // -----------------------------
@@ -49,6 +228,7 @@ public class TransactionService {
         private String paymentMethod;
         private String category;
         private String rawText;
+        private String sourceKey; // 외부 원본의 행 식별자 (같은 파일을 다시 가져와도 중복 저장 안 되게)
 
         public String getMonth() {
             return month;
@@ -105,5 +285,13 @@ public class TransactionService {
         public void setRawText(String rawText) {
             this.rawText = rawText;
         }
+
+        public String getSourceKey() {
+            return sourceKey;
+        }
+
+        public void setSourceKey(String sourceKey) {
+            this.sourceKey = sourceKey;
+        }
     }
 }
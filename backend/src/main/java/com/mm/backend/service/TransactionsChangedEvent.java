@@ -0,0 +1,26 @@
+package com.mm.backend.service;
+
+import java.util.Set;
+
+/**
+ * 거래가 저장/수정된 뒤 발행 (커밋 후 리스너에서 캐시 무효화 등에 사용).
+ * userId: 거래 소유 사용자, periods: 영향을 받은 달 (yyyyMM)
+ */
+public class TransactionsChangedEvent {
+
+    private final String userId;
+    private final Set<Integer> periods;
+
+    public TransactionsChangedEvent(String userId, Set<Integer> periods) {
+        this.userId = userId;
+        this.periods = Set.copyOf(periods);
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Set<Integer> getPeriods() {
+        return periods;
+    }
+}
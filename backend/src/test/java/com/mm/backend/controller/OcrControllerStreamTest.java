@@ -0,0 +1,126 @@
+package com.mm.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.service.AiParserService;
+import com.mm.backend.service.BatchIngestService;
+import com.mm.backend.service.ImageDuplicateIndex;
+import com.mm.backend.service.IngestJobService;
+import com.mm.backend.service.LlmBatcher;
+import com.mm.backend.service.LlmCircuitBreaker;
+import com.mm.backend.service.OcrEnginePool;
+import com.mm.backend.service.OcrService;
+import com.mm.backend.service.OpenAiClient;
+import com.mm.backend.service.ParseResultCache;
+import com.mm.backend.service.RuleParser;
+import com.mm.backend.service.TransactionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * POST /api/ocr/parse-ai/stream: AiParserService → OpenAiClient.streamAsync → StubLlmController (실제 HTTP, 4글자씩).
+ * 이벤트 순서: field (응답 JSON의 필드 순서대로 한 번씩) ... → 마지막에 result 한 번.
+ */
+@SpringBootTest(classes = StubLlmServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"llm.stub.delay-ms=0", "llm.stub.stream-chunk-chars=4", "llm.stub.stream-chunk-delay-ms=0"})
+@ActiveProfiles("llm-stub")
+class OcrControllerStreamTest {
+
+    @LocalServerPort
+    int port;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private OpenAiClient openAiClient;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ParseResultCache parseResultCache = mock(ParseResultCache.class);
+        when(parseResultCache.get(anyString())).thenReturn(Optional.empty());
+
+        openAiClient = new OpenAiClient(new LlmCircuitBreaker(5, 30000), new WorkerThreads(false), ObservationRegistry.NOOP,
+                "stub-key", StubLlmServer.baseUrl(port), "stub-model", 3000, 10000, 2);
+        RuleParser ruleParser = new RuleParser(new DefaultResourceLoader(), "classpath:parser-rules.json");
+        // 규칙 파서 단계는 끄고 항상 GPT(가짜 서버)로
+        AiParserService aiParserService = new AiParserService(parseResultCache, openAiClient, mock(LlmBatcher.class),
+                ruleParser, ObservationRegistry.NOOP, new SimpleMeterRegistry(), 100, false, 0.8);
+
+        OcrController controller = new OcrController(mock(OcrService.class), aiParserService, mock(TransactionService.class),
+                mock(OcrEnginePool.class), mock(BatchIngestService.class), parseResultCache, ruleParser,
+                mock(IngestJobService.class), mock(ImageDuplicateIndex.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        openAiClient.stop();
+    }
+
+    @Test
+    void sendsFieldEventsThenOneResult() throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/ocr/parse-ai/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rawText\": \"스타벅스 4,500원 결제\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(10_000);
+
+        List<Event> events = parse(started.getResponse().getContentAsString(StandardCharsets.UTF_8));
+
+        assertThat(events).isNotEmpty();
+        Event last = events.get(events.size() - 1);
+        assertThat(last.name()).isEqualTo("result");
+        assertThat(last.data().path("amount").asInt()).isEqualTo(4500);
+        assertThat(last.data().path("merchant").asText()).isEqualTo("STUB");
+
+        List<Event> fields = events.subList(0, events.size() - 1);
+        assertThat(fields).allSatisfy(e -> assertThat(e.name()).isEqualTo("field"));
+        assertThat(fields).extracting(e -> e.data().path("name").asText())
+                .containsExactly("amount", "merchant", "paymentMethod", "category", "month", "datetime");
+        assertThat(fields.get(0).data().path("value").asInt()).isEqualTo(4500);
+    }
+
+    // "event:이름\ndata:내용\n\n" 단위로
+    private List<Event> parse(String body) throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (String block : body.split("\n\n")) {
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) name = line.substring(6).trim();
+                else if (line.startsWith("data:")) data.append(line.substring(5));
+            }
+            if (name != null) events.add(new Event(name, mapper.readTree(data.toString())));
+        }
+        return events;
+    }
+
+    private record Event(String name, JsonNode data) {
+    }
+}
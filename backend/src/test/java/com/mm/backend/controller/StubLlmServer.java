@@ -0,0 +1,33 @@
+package com.mm.backend.controller;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 테스트용 내장 서버: StubLlmController만 올림 (DB / OCR 등 나머지 빈 없음).
+ * llm-stub 프로필과 webEnvironment = RANDOM_PORT로 띄우고, base URL은
+ * http://localhost:{port}/stub/openai/v1
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+})
+@Import(StubLlmController.class)
+public class StubLlmServer {
+
+    public static String baseUrl(int port) {
+        return "http://localhost:" + port + "/stub/openai/v1";
+    }
+}
@@ -0,0 +1,108 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonFieldStreamTest {
+
+    private static final String RESPONSE = """
+            {"amount": 4500, "merchant": "스타벅스", "paymentMethod": "KakaoPay", "category": "카페/간식",
+             "month": "2025-03", "datetime": "2025-03-14T08:30:00"}""";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void emitsEachTopLevelFieldOnce() {
+        Map<String, JsonNode> fields = feed(RESPONSE);
+
+        assertThat(fields).containsOnlyKeys("amount", "merchant", "paymentMethod", "category", "month", "datetime");
+        assertThat(fields.get("amount").asInt()).isEqualTo(4500);
+        assertThat(fields.get("merchant").asText()).isEqualTo("스타벅스");
+        assertThat(fields.get("datetime").asText()).isEqualTo("2025-03-14T08:30:00");
+    }
+
+    @Test
+    void sameFieldsWhateverTheChunkBoundaries() {
+        Map<String, JsonNode> whole = feed(RESPONSE);
+
+        // 한 글자씩
+        assertThat(feed(RESPONSE.split(""))).isEqualTo(whole);
+
+        // 모든 위치에서 두 조각으로
+        for (int i = 1; i < RESPONSE.length(); i++) {
+            assertThat(feed(RESPONSE.substring(0, i), RESPONSE.substring(i)))
+                    .as("split at %d", i)
+                    .isEqualTo(whole);
+        }
+    }
+
+    @Test
+    void emitsFieldsInOrderAsSoonAsTheyAreComplete() {
+        List<String> names = new ArrayList<>();
+        JsonFieldStream stream = new JsonFieldStream(mapper, (name, value) -> names.add(name));
+
+        stream.feed("{\"merchant\": \"스타");
+        assertThat(names).isEmpty();
+        stream.feed("벅스\", \"amount\": 45");
+        assertThat(names).containsExactly("merchant");   // 문자열은 닫는 따옴표에서
+        stream.feed("00");
+        assertThat(names).containsExactly("merchant");   // 숫자는 뒤의 ',' / '}'까지 대기
+        stream.feed(", \"category\"");
+        assertThat(names).containsExactly("merchant", "amount");
+    }
+
+    @Test
+    void handlesEscapesInKeysAndValues() {
+        Map<String, JsonNode> fields = feed(
+                "{\"merchant\": \"A \\\"B\\\" \\\\ C\", \"memo\": \"x}y,z\", \"we\\\"ird\": \"\\u00e9\", \"amount\": 1}");
+
+        assertThat(fields.get("merchant").asText()).isEqualTo("A \"B\" \\ C");
+        assertThat(fields.get("memo").asText()).isEqualTo("x}y,z");
+        assertThat(fields.get("we\"ird").asText()).isEqualTo("é");
+        assertThat(fields.get("amount").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsCodeFencePrefixAndIgnoresTrailer() {
+        Map<String, JsonNode> fields = feed("```json\n{\"amount\": 1200, ", "\"merchant\": \"CU\"}\n```", "{\"amount\": 9}");
+
+        assertThat(fields).containsOnlyKeys("amount", "merchant");
+        assertThat(fields.get("amount").asInt()).isEqualTo(1200);
+        assertThat(fields.get("merchant").asText()).isEqualTo("CU");
+    }
+
+    @Test
+    void emitsNestedValuesWhole() {
+        Map<String, JsonNode> fields = feed(
+                "{\"items\": [{\"n\": 1}, {\"n\": \"]}\"}], \"meta\": {\"a\": {\"b\": [1, 2]}}, \"ok\": true, \"note\": null, \"amount\": 3}");
+
+        assertThat(fields).containsOnlyKeys("items", "meta", "ok", "note", "amount");
+        assertThat(fields.get("items").isArray()).isTrue();
+        assertThat(fields.get("items").get(1).path("n").asText()).isEqualTo("]}");
+        assertThat(fields.get("meta").path("a").path("b").get(1).asInt()).isEqualTo(2);
+        assertThat(fields.get("ok").asBoolean()).isTrue();
+        assertThat(fields.get("note").isNull()).isTrue();
+        assertThat(fields.get("amount").asInt()).isEqualTo(3);
+    }
+
+    private Map<String, JsonNode> feed(String... chunks) {
+        Map<String, JsonNode> fields = new LinkedHashMap<>();
+        JsonFieldStream stream = new JsonFieldStream(mapper, (name, value) -> {
+            assertThat(fields).doesNotContainKey(name);
+            fields.put(name, value);
+        });
+        for (String chunk : chunks) {
+            stream.feed(chunk);
+        }
+        return fields;
+    }
+}
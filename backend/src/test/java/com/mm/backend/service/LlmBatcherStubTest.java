@@ -0,0 +1,101 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.controller.StubLlmServer;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * LlmBatcher → OpenAiClient → StubLlmController (실제 HTTP).
+ * 묶음 크기(max-items)대로 나눠서 호출하는지, 응답 배열의 i번째가 i번째 요청에 돌아가는지 확인.
+ * 가짜 서버는 텍스트의 "N원"을 amount로 돌려주므로 금액으로 요청과 결과를 맞춰 본다.
+ */
+@SpringBootTest(classes = StubLlmServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "llm.stub.delay-ms=0")
+@ActiveProfiles("llm-stub")
+class LlmBatcherStubTest {
+
+    private static final int MAX_ITEMS = 3;
+
+    @LocalServerPort
+    int port;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicInteger llmCalls = new AtomicInteger();
+    private OpenAiClient openAiClient;
+    private LlmBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        // LLM 왕복 1번 = llm.request observation 1개
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                llmCalls.incrementAndGet();
+            }
+        });
+
+        openAiClient = new OpenAiClient(new LlmCircuitBreaker(5, 30000), new WorkerThreads(false), registry,
+                "stub-key", StubLlmServer.baseUrl(port), "stub-model", 3000, 10000, 2);
+        batcher = new LlmBatcher(openAiClient, true, 500, MAX_ITEMS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+        openAiClient.stop();
+    }
+
+    @Test
+    void splitsIntoBatchesOfMaxItemsAndMapsResultsByIndex() throws Exception {
+        // 3 + 3건은 꽉 차서 바로, 마지막 1건은 window 뒤 단건 프롬프트로
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            results.add(batcher.submit("카카오페이 가게" + i + " " + String.format(Locale.ROOT, "%,d", i * 1000) + "원 결제"));
+        }
+
+        for (int i = 1; i <= 7; i++) {
+            JsonNode json = mapper.readTree(results.get(i - 1).get(10, TimeUnit.SECONDS));
+            assertThat(json.isObject()).isTrue();
+            assertThat(json.path("amount").asInt()).isEqualTo(i * 1000);
+            assertThat(json.path("merchant").asText()).isEqualTo("STUB");
+        }
+        assertThat(llmCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void flushesPartialBatchAfterWindow() throws Exception {
+        CompletableFuture<String> first = batcher.submit("가게A 1,500원");
+        CompletableFuture<String> second = batcher.submit("가게B 2,500원");
+
+        assertThat(mapper.readTree(first.get(10, TimeUnit.SECONDS)).path("amount").asInt()).isEqualTo(1500);
+        assertThat(mapper.readTree(second.get(10, TimeUnit.SECONDS)).path("amount").asInt()).isEqualTo(2500);
+        assertThat(llmCalls.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mm.backend.service.OcrStrips.Strip;
+
+class OcrStripsTest {
+
+    private static final int WIDTH = 60;
+
+    @Test
+    void shortImageIsOneStrip() {
+        BufferedImage image = lines(400);
+
+        List<Strip> strips = OcrStrips.split(image, 300, 40, 8);
+
+        assertThat(strips).hasSize(1);
+        assertThat(strips.get(0).image()).isSameAs(image);
+        assertThat(strips.get(0).overlapsPrevious()).isFalse();
+    }
+
+    @Test
+    void cutsOnBlankRowsBetweenLines() {
+        BufferedImage image = lines(1000);
+
+        List<Strip> strips = OcrStrips.split(image, 300, 40, 8);
+
+        assertThat(strips).hasSizeGreaterThan(1);
+        assertThat(strips).noneMatch(Strip::overlapsPrevious);
+        // 겹침 없이 이어 붙이면 원본 높이, 자른 위치는 모두 빈 행
+        int top = 0;
+        for (Strip strip : strips) {
+            if (top > 0) assertThat(isBlankRow(image, top)).as("cut at row %d", top).isTrue();
+            top += strip.image().getHeight();
+        }
+        assertThat(top).isEqualTo(1000);
+    }
+
+    @Test
+    void overlapsWhenThereIsNoBlankRow() {
+        BufferedImage image = solid(1000);
+
+        List<Strip> strips = OcrStrips.split(image, 300, 40, 8);
+
+        assertThat(strips).extracting(s -> s.image().getHeight()).containsExactly(300, 300, 300, 220);
+        assertThat(strips).extracting(Strip::overlapsPrevious).containsExactly(false, true, true, true);
+    }
+
+    @Test
+    void overlapAsLargeAsTheTileStillTerminates() {
+        BufferedImage image = solid(600);
+
+        List<Strip> strips = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> OcrStrips.split(image, 200, 250, 8));
+
+        assertThat(strips).allMatch(s -> s.image().getHeight() > 0);
+        assertThat(strips.get(strips.size() - 1).overlapsPrevious()).isTrue();
+    }
+
+    @Test
+    void mergeKeepsRepeatedLinesAtBlankRowCuts() {
+        // 같은 가맹점 / 금액 결제가 띠 경계에 연달아 있어도 지우지 않음
+        List<Strip> strips = List.of(new Strip(null, false), new Strip(null, false));
+
+        String merged = OcrStrips.merge(strips, List.of("스타벅스 4,500원\n", "스타벅스 4,500원"));
+
+        assertThat(merged).isEqualTo("스타벅스 4,500원\n스타벅스 4,500원");
+    }
+
+    @Test
+    void mergeDropsOverlappedLinesOnce() {
+        List<Strip> strips = List.of(new Strip(null, false), new Strip(null, true));
+
+        assertThat(OcrStrips.merge(strips, List.of("a\nb\nc\nd", "c\nd\ne"))).isEqualTo("a\nb\nc\nd\ne");
+        // 공백 차이는 같은 줄
+        assertThat(OcrStrips.merge(strips, List.of("a\nb c", "bc\nd"))).isEqualTo("a\nb c\nd");
+        // 겹침을 못 찾으면 그대로 이어 붙임
+        assertThat(OcrStrips.merge(strips, List.of("a\nb", "c\nd"))).isEqualTo("a\nb\nc\nd");
+    }
+
+    @Test
+    void mergeIgnoresHalfCutLineAtTheBoundary() {
+        List<Strip> strips = List.of(new Strip(null, false), new Strip(null, true));
+
+        // 앞 띠 끝의 반쯤 잘린 줄은 버리고, 다음 띠의 온전한 줄을 씀
+        assertThat(OcrStrips.merge(strips, List.of("a\nb\nc\nd~", "c\nd\ne"))).isEqualTo("a\nb\nc\nd\ne");
+    }
+
+    // 20행마다 글자 15행 + 줄 간격 5행
+    private static BufferedImage lines(int height) {
+        BufferedImage image = new BufferedImage(WIDTH, height, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = image.getRaster();
+        int[] ink = new int[WIDTH];
+        int[] paper = new int[WIDTH];
+        Arrays.fill(paper, 255);
+        for (int y = 0; y < height; y++) {
+            raster.setSamples(0, y, WIDTH, 1, 0, y % 20 < 15 ? ink : paper);
+        }
+        return image;
+    }
+
+    // 빈 행이 없는 이미지
+    private static BufferedImage solid(int height) {
+        return new BufferedImage(WIDTH, height, BufferedImage.TYPE_BYTE_GRAY);
+    }
+
+    private static boolean isBlankRow(BufferedImage image, int y) {
+        int[] row = image.getRaster().getSamples(0, y, WIDTH, 1, 0, (int[]) null);
+        return Arrays.stream(row).allMatch(v -> v >= 128);
+    }
+}
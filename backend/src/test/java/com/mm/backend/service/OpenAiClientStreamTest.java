@@ -0,0 +1,90 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.config.WorkerThreads;
+import com.mm.backend.controller.StubLlmServer;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * OpenAiClient.streamAsync (DeltaSubscriber) → StubLlmController의 SSE 응답 (3글자씩, 조각 사이 대기 없음).
+ */
+@SpringBootTest(classes = StubLlmServer.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"llm.stub.delay-ms=0", "llm.stub.stream-chunk-chars=3", "llm.stub.stream-chunk-delay-ms=0"})
+@ActiveProfiles("llm-stub")
+class OpenAiClientStreamTest {
+
+    @LocalServerPort
+    int port;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private OpenAiClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) client.stop();
+    }
+
+    @Test
+    void deltasArriveInOrderAndJoinToTheFullContent() throws Exception {
+        client = client(StubLlmServer.baseUrl(port));
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        String content = client.streamAsync(ParsePrompts.single("스타벅스 4,500원 결제"), deltas::add)
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(deltas).hasSizeGreaterThan(1).allSatisfy(d -> assertThat(d).hasSizeBetween(1, 3));
+        assertThat(String.join("", deltas)).isEqualTo(content);
+        JsonNode json = mapper.readTree(content);
+        assertThat(json.path("amount").asInt()).isEqualTo(4500);
+        assertThat(json.path("merchant").asText()).isEqualTo("STUB");
+    }
+
+    @Test
+    void deltasFedToJsonFieldStreamYieldEveryField() throws Exception {
+        client = client(StubLlmServer.baseUrl(port));
+        Map<String, JsonNode> fields = new LinkedHashMap<>();
+        JsonFieldStream stream = new JsonFieldStream(mapper, fields::put);
+
+        client.streamAsync(ParsePrompts.single("가게 12,000원"), stream::feed).get(10, TimeUnit.SECONDS);
+
+        assertThat(fields).containsOnlyKeys("amount", "merchant", "paymentMethod", "category", "month", "datetime");
+        assertThat(fields.get("amount").asInt()).isEqualTo(12000);
+    }
+
+    @Test
+    void nonSuccessStatusFailsWithResponseBody() {
+        client = client("http://localhost:" + port + "/no-such-llm");
+        List<String> deltas = new CopyOnWriteArrayList<>();
+
+        Throwable error = catchThrowable(() -> client.streamAsync(ParsePrompts.single("x"), deltas::add)
+                .get(10, TimeUnit.SECONDS));
+
+        assertThat(error).isInstanceOf(ExecutionException.class);
+        assertThat(OpenAiClient.unwrap(error.getCause())).isInstanceOfSatisfying(LlmHttpException.class,
+                http -> assertThat(http.getStatusCode()).isEqualTo(404));
+        assertThat(deltas).isEmpty();
+    }
+
+    private static OpenAiClient client(String baseUrl) {
+        return new OpenAiClient(new LlmCircuitBreaker(5, 30000), new WorkerThreads(false), ObservationRegistry.NOOP,
+                "stub-key", baseUrl, "stub-model", 3000, 10000, 2);
+    }
+}
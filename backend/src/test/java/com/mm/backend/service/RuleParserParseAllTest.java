@@ -0,0 +1,80 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+class RuleParserParseAllTest {
+
+    private final RuleParser parser;
+
+    RuleParserParseAllTest() throws IOException {
+        parser = new RuleParser(new DefaultResourceLoader(), "classpath:parser-rules.json");
+    }
+
+    @Test
+    void singleNotificationIsOneEntry() {
+        List<TransactionRequest> list = parser.parseAll("[카카오페이] 스타벅스 4,500원 결제 2025.03.14 08:30");
+
+        assertThat(list).hasSize(1);
+        assertThat(list.get(0).getAmount()).isEqualTo(4500);
+        assertThat(list.get(0).getDatetime()).isEqualTo(LocalDateTime.of(2025, 3, 14, 8, 30));
+    }
+
+    @Test
+    void orderHistorySplitsOnEachNewDate() {
+        String text = """
+                결제 내역
+                2025.03.14 08:30
+                스타벅스 4,500원
+                2025.03.15 12:10
+                맥도날드 8,900원
+                2025.03.16 19:45
+                CU 2,300원
+                승인번호 12345678
+                """;
+
+        List<TransactionRequest> list = parser.parseAll(text);
+
+        assertThat(list).extracting(TransactionRequest::getAmount).containsExactly(4500, 8900, 2300);
+        assertThat(list).extracting(TransactionRequest::getDatetime).containsExactly(
+                LocalDateTime.of(2025, 3, 14, 8, 30),
+                LocalDateTime.of(2025, 3, 15, 12, 10),
+                LocalDateTime.of(2025, 3, 16, 19, 45));
+        // 머리말은 첫 결제에, 마지막 금액 뒤의 줄은 마지막 결제에 붙음
+        assertThat(list.get(0).getRawText()).startsWith("결제 내역");
+        assertThat(list.get(2).getRawText()).endsWith("승인번호 12345678");
+    }
+
+    @Test
+    void receiptWithSeveralAmountsStaysOneEntry() {
+        // 승인일시 뒤의 공급가액 / 부가세 줄, 시각만 있는 줄로는 나누지 않음
+        String text = """
+                스타벅스 강남점
+                승인일시 2025.03.14 08:30
+                합계 11,000원
+                공급가액 10,000원
+                부가세 1,000원
+                출력 08:31
+                """;
+
+        List<TransactionRequest> list = parser.parseAll(text);
+
+        assertThat(list).hasSize(1);
+        assertThat(list.get(0).getAmount()).isEqualTo(11000);
+        assertThat(list.get(0).getRawText()).isEqualTo(text);
+    }
+
+    @Test
+    void textWithoutAmountIsStillOneEntry() {
+        assertThat(parser.parseAll("안녕하세요")).hasSize(1);
+        assertThat(parser.parseAll(null)).hasSize(1);
+    }
+}
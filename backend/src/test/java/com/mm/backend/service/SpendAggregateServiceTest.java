@@ -0,0 +1,155 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mm.backend.entity.SpendAggregate;
+import com.mm.backend.entity.SpendAggregate.Dimension;
+import com.mm.backend.entity.Transaction;
+import com.mm.backend.repository.SpendAggregateRepository;
+import com.mm.backend.repository.TransactionRepository;
+
+/**
+ * 집계 증분 반영 / 전체 재계산 (H2, application.properties의 datasource 그대로).
+ * 첫 거래의 집계 행은 별도 트랜잭션으로 만들기 때문에 테스트 트랜잭션 없이 실행하고, 테스트마다 사용자를 따로 씀.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SpendAggregateService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SpendAggregateServiceTest {
+
+    @Autowired
+    private SpendAggregateService service;
+
+    @Autowired
+    private SpendAggregateRepository aggregateRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void applyAddsAndRemovesPerDimension() {
+        String user = newUser();
+        Transaction coffee = transaction(user, "2025-03", 4500, "카페/간식", "KakaoPay");
+        Transaction lunch = transaction(user, "2025-03", 8900, "식비", "KakaoPay");
+
+        service.apply(coffee, 1);
+        service.apply(coffee, 1);
+        service.apply(lunch, 1);
+        service.apply(coffee, -1);
+
+        assertThat(service.getTotal(user, "2025-03")).isEqualTo(13400);
+        assertThat(service.getBreakdown(user, "2025-03", Dimension.CATEGORY))
+                .containsEntry("카페/간식", 4500L)
+                .containsEntry("식비", 8900L)
+                .hasSize(2);
+        assertThat(service.getBreakdown(user, "2025-03", Dimension.PAYMENT_METHOD))
+                .containsOnlyKeys("KakaoPay")
+                .containsEntry("KakaoPay", 13400L);
+    }
+
+    @Test
+    void emptiedBucketIsHiddenAndBlankKeysAreUnknown() {
+        String user = newUser();
+        Transaction noCategory = transaction(user, "2025-04", 1000, " ", null);
+        Transaction other = transaction(user, "2025-04", 2000, "교통", "Card");
+
+        service.apply(noCategory, 1);
+        service.apply(other, 1);
+        service.apply(other, -1);
+
+        assertThat(service.getBreakdown(user, "2025-04", Dimension.CATEGORY))
+                .containsOnlyKeys(SpendAggregateService.UNKNOWN_KEY);
+        assertThat(service.getBreakdown(user, "2025-04", Dimension.PAYMENT_METHOD))
+                .containsOnlyKeys(SpendAggregateService.UNKNOWN_KEY);
+        assertThat(service.getTotal(user, "2025-04")).isEqualTo(1000);
+    }
+
+    @Test
+    void applyAllMatchesApplyOneByOne() {
+        String batchUser = newUser();
+        String singleUser = newUser();
+        List<Transaction> batch = List.of(
+                transaction(batchUser, "2025-05", 4500, "카페/간식", "KakaoPay"),
+                transaction(batchUser, "2025-05", 4500, "카페/간식", "Card"),
+                transaction(batchUser, "2025-06", 12000, "식비", "Card"));
+
+        service.applyAll(batch);
+        for (Transaction t : batch) {
+            Transaction copy = transaction(singleUser, t.getMonth(), t.getAmount(), t.getCategory(), t.getPaymentMethod());
+            service.apply(copy, 1);
+        }
+
+        for (String month : List.of("2025-05", "2025-06")) {
+            assertThat(service.getTotal(batchUser, month)).isEqualTo(service.getTotal(singleUser, month));
+            assertThat(service.getBreakdown(batchUser, month, Dimension.CATEGORY))
+                    .isEqualTo(service.getBreakdown(singleUser, month, Dimension.CATEGORY));
+        }
+    }
+
+    @Test
+    void rebuildAllRecomputesFromTransactionsAndClearsStaleMonths() {
+        String user = newUser();
+        // 집계를 거치지 않고 저장된 거래 (마이그레이션 / 직접 수정 등)
+        transactionRepository.saveAll(List.of(
+                transaction(user, "2025-01", 3000, "식비", "Card"),
+                transaction(user, "2025-01", 7000, "식비", "Card"),
+                transaction(user, "2025-02", 5000, "교통", "KakaoPay")));
+        // 거래가 모두 지워졌는데 남아 있는 집계, 틀린 집계
+        aggregateRepository.saveAll(List.of(
+                aggregate(user, "2024-12", Dimension.TOTAL, SpendAggregateService.TOTAL_KEY, 9999L, 3L),
+                aggregate(user, "2025-01", Dimension.TOTAL, SpendAggregateService.TOTAL_KEY, 1L, 1L)));
+        // 다른 사용자의 거래는 건드리지 않음
+        String other = newUser();
+        transactionRepository.save(transaction(other, "2025-01", 100, "식비", "Card"));
+
+        List<String> months = service.rebuildAll(user);
+
+        assertThat(months).containsExactly("2024-12", "2025-01", "2025-02");
+        assertThat(service.getTotal(user, "2024-12")).isZero();
+        assertThat(service.getTotal(user, "2025-01")).isEqualTo(10000);
+        assertThat(service.getTotal(user, "2025-02")).isEqualTo(5000);
+        assertThat(service.getBreakdown(user, "2025-01", Dimension.CATEGORY)).containsOnlyKeys("식비");
+        assertThat(months).allSatisfy(month -> assertThat(service.verify(user, month).isConsistent()).isTrue());
+        assertThat(service.getTotal(other, "2025-01")).isZero();
+    }
+
+    private static String newUser() {
+        return "u-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static Transaction transaction(String userId, String month, int amount, String category, String paymentMethod) {
+        Transaction t = new Transaction();
+        t.setUserId(userId);
+        t.setMonth(month);
+        t.setDatetime(LocalDateTime.parse(month + "-10T12:00:00"));
+        t.setAmount(amount);
+        t.setMerchant("가맹점");
+        t.setCategory(category);
+        t.setPaymentMethod(paymentMethod);
+        return t;
+    }
+
+    private static SpendAggregate aggregate(String userId, String month, Dimension dimension, String key, long amount, long count) {
+        return SpendAggregate.builder()
+                .userId(userId)
+                .month(month)
+                .dimension(dimension)
+                .dimKey(key)
+                .amount(amount)
+                .txCount(count)
+                .build();
+    }
+}
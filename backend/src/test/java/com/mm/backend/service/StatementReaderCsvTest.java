@@ -0,0 +1,80 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatementReaderCsvTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsPlainRows() throws IOException {
+        assertThat(read("날짜,가맹점,금액\n2025-03-14,스타벅스,4500\n"))
+                .containsExactly(List.of("날짜", "가맹점", "금액"), List.of("2025-03-14", "스타벅스", "4500"));
+    }
+
+    @Test
+    void skipsUtf8Bom() throws IOException {
+        assertThat(read("\uFEFF날짜,금액\n")).containsExactly(List.of("날짜", "금액"));
+    }
+
+    @Test
+    void quotedCellsKeepCommasNewlinesAndEscapedQuotes() throws IOException {
+        List<List<String>> rows = read("\"1,000\",\"줄\n바꿈\",\"그는 \"\"안녕\"\"\"\n");
+
+        assertThat(rows).containsExactly(List.of("1,000", "줄\n바꿈", "그는 \"안녕\""));
+    }
+
+    @Test
+    void acceptsCrLfAndLoneCr() throws IOException {
+        assertThat(read("a,b\r\nc,d\re,f"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void keepsEmptyCellsButSkipsBlankLines() throws IOException {
+        assertThat(read("a,,c,\n\n\r\n,\n"))
+                .containsExactly(List.of("a", "", "c", ""), List.of("", ""));
+    }
+
+    @Test
+    void emptyQuotedCellIsARow() throws IOException {
+        assertThat(read("\"\"\n")).containsExactly(List.of(""));
+    }
+
+    @Test
+    void lastRowWithoutNewline() throws IOException {
+        assertThat(read("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void readsLegacyKoreanEncoding() throws IOException {
+        Charset eucKr = Charset.forName("EUC-KR");
+
+        assertThat(read("가맹점,금액\n스타벅스,4500\n", eucKr))
+                .containsExactly(List.of("가맹점", "금액"), List.of("스타벅스", "4500"));
+    }
+
+    private List<List<String>> read(String content) throws IOException {
+        return read(content, StandardCharsets.UTF_8);
+    }
+
+    private List<List<String>> read(String content, Charset charset) throws IOException {
+        Path file = dir.resolve("statement.csv");
+        Files.write(file, content.getBytes(charset));
+        List<List<String>> rows = new ArrayList<>();
+        StatementReader.readCsv(file, charset, rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,81 @@
+package com.mm.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+class TransactionServiceDedupKeyTest {
+
+    private static final String RAW_HASH = RawTextStore.hashOf("[카카오페이] 스타벅스 4,500원 결제");
+    private static final LocalDateTime PAID_AT = LocalDateTime.of(2025, 3, 14, 8, 30);
+
+    @Test
+    void manualEntryHasNoKey() {
+        // 원문도 sourceKey도 없는 직접 입력은 같은 내용을 여러 번 넣을 수 있어야 함
+        assertThat(TransactionService.dedupKeyOf("alice", null, request(PAID_AT, null))).isNull();
+    }
+
+    @Test
+    void sameTextAndFieldsGiveSameKey() {
+        String first = TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, null));
+        String again = TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, null));
+
+        assertThat(first).isNotNull().hasSize(64).isEqualTo(again);
+    }
+
+    @Test
+    void keyIsPerUser() {
+        // 같은 문자를 받은 다른 사용자의 거래와 겹치지 않음
+        assertThat(TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, null)))
+                .isNotEqualTo(TransactionService.dedupKeyOf("bob", RAW_HASH, request(PAID_AT, null)));
+    }
+
+    @Test
+    void differentPaymentTimeOrAmountGivesDifferentKey() {
+        String base = TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, null));
+
+        assertThat(TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT.plusMinutes(1), null))).isNotEqualTo(base);
+
+        TransactionRequest otherAmount = request(PAID_AT, null);
+        otherAmount.setAmount(5000);
+        assertThat(TransactionService.dedupKeyOf("alice", RAW_HASH, otherAmount)).isNotEqualTo(base);
+    }
+
+    @Test
+    void rawTextWinsOverSourceKeyWhenPaymentTimeIsKnown() {
+        assertThat(TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, "job:1")))
+                .isEqualTo(TransactionService.dedupKeyOf("alice", RAW_HASH, request(PAID_AT, "job:2")));
+    }
+
+    @Test
+    void sourceKeyIsUsedWithoutRawText() {
+        String first = TransactionService.dedupKeyOf("alice", null, request(PAID_AT, "row:1"));
+
+        assertThat(first).isNotNull().isEqualTo(TransactionService.dedupKeyOf("alice", null, request(PAID_AT, "row:1")));
+        assertThat(first).isNotEqualTo(TransactionService.dedupKeyOf("alice", null, request(PAID_AT, "row:2")));
+    }
+
+    @Test
+    void withoutPaymentTimeOnlySourceKeyCounts() {
+        // 같은 문자로 온 실제 결제 두 건과 구분할 수 없으므로 원문만으로는 키를 만들지 않음
+        assertThat(TransactionService.dedupKeyOf("alice", RAW_HASH, request(null, null))).isNull();
+
+        String bySource = TransactionService.dedupKeyOf("alice", RAW_HASH, request(null, "img:abc"));
+        assertThat(bySource).isNotNull()
+                .isEqualTo(TransactionService.dedupKeyOf("alice", null, request(null, "img:abc")))
+                .isNotEqualTo(TransactionService.dedupKeyOf("alice", RAW_HASH, request(null, "img:def")));
+    }
+
+    private static TransactionRequest request(LocalDateTime datetime, String sourceKey) {
+        TransactionRequest req = new TransactionRequest();
+        req.setDatetime(datetime);
+        req.setAmount(4500);
+        req.setMerchant("스타벅스");
+        req.setSourceKey(sourceKey);
+        return req;
+    }
+}
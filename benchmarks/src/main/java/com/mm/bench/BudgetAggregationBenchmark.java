@@ -0,0 +1,202 @@
+package com.mm.bench;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mm.backend.entity.SpendAggregate;
+import com.mm.backend.entity.Transaction;
+
+/**
+ * 한 달 예산 집계: 거래 N건이 있는 달에서
+ * - 예전 방식: 그 달 거래를 전부 읽어 Java에서 합산
+ * - 지금 방식: DB에서 GROUP BY (user_id, period_ym, category 인덱스)
+ * - 집계 테이블: 미리 계산된 행 조회 (SpendAggregate)
+ * H2 메모리 DB, 테이블/인덱스는 Transaction / SpendAggregate 엔티티에서 Hibernate로 생성
+ * (Spring Boot와 같은 이름 규칙). 다른 사용자의 거래도 같은 달에 넣어 user_id 필터가 의미 있게 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BudgetAggregationBenchmark {
+
+    private static final int PERIOD = 202511;
+    private static final String MONTH = "2025-11";
+    private static final String USER = "bench-user";
+    private static final String OTHER_USER = "other-user";
+
+    @Param({"10000", "100000", "1000000"})
+    int transactions;
+
+    private Connection conn;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        // month 열 이름을 쓰려면 H2 2.x에서 NON_KEYWORDS 필요 (애플리케이션 설정과 같음)
+        String url = "jdbc:h2:mem:budget" + transactions + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH";
+        conn = DriverManager.getConnection(url, "sa", "");
+        createSchema(url);
+
+        // 대상 사용자: 대상 달 N건 + 다른 달 N/10건, 다른 사용자: 대상 달 N/10건 (필터가 의미 있도록)
+        seed(USER, PERIOD, transactions, 1L);
+        seed(USER, 202510, Math.max(1, transactions / 10), 2L);
+        seed(OTHER_USER, PERIOD, Math.max(1, transactions / 10), 3L);
+
+        try (Statement st = conn.createStatement()) {
+            st.execute("insert into spend_aggregate (user_id, month, dimension, dim_key, amount, tx_count) " +
+                    "select user_id, month, 'CATEGORY', category, sum(amount), count(*) " +
+                    "from transaction group by user_id, month, category");
+            st.execute("insert into spend_aggregate (user_id, month, dimension, dim_key, amount, tx_count) " +
+                    "select user_id, month, 'TOTAL', 'ALL', sum(amount), count(*) " +
+                    "from transaction group by user_id, month");
+            st.execute("analyze");
+        }
+    }
+
+    // 엔티티 매핑 그대로 테이블 / 인덱스 / 유니크 키 생성 (손으로 쓴 DDL이 엔티티와 어긋나지 않게)
+    private static void createSchema(String url) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .build();
+        try {
+            // SessionFactory를 만들 때 스키마 생성 (create는 닫을 때 지우지 않음)
+            new MetadataSources(registry)
+                    .addAnnotatedClass(Transaction.class)
+                    .addAnnotatedClass(SpendAggregate.class)
+                    .buildMetadata()
+                    .buildSessionFactory()
+                    .close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("drop all objects");
+        }
+        conn.close();
+    }
+
+    // 예전 BudgetService: 엔티티 전부 로딩 후 합산
+    @Benchmark
+    public Map<String, Long> loadAndSumInJava() throws SQLException {
+        Map<String, Long> byCategory = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "select id, user_id, month, period_ym, datetime, amount, merchant, payment_method, category " +
+                        "from transaction where user_id = ? and period_ym = ?")) {
+            ps.setString(1, USER);
+            ps.setInt(2, PERIOD);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Row row = new Row(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4), rs.getTimestamp(5),
+                            rs.getInt(6), rs.getString(7), rs.getString(8), rs.getString(9));
+                    byCategory.merge(row.category, (long) row.amount, Long::sum);
+                }
+            }
+        }
+        return byCategory;
+    }
+
+    // TransactionRepository.sumByCategory
+    @Benchmark
+    public Map<String, Long> sqlGroupBy() throws SQLException {
+        Map<String, Long> byCategory = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "select category, coalesce(sum(amount), 0), count(*) from transaction " +
+                        "where user_id = ? and period_ym = ? group by category")) {
+            ps.setString(1, USER);
+            ps.setInt(2, PERIOD);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) byCategory.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return byCategory;
+    }
+
+    // SpendAggregateService.getBreakdown
+    @Benchmark
+    public Map<String, Long> precomputedAggregate() throws SQLException {
+        Map<String, Long> byCategory = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "select dim_key, amount from spend_aggregate where user_id = ? and month = ? and dimension = 'CATEGORY'")) {
+            ps.setString(1, USER);
+            ps.setString(2, MONTH);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) byCategory.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return byCategory;
+    }
+
+    // id는 엔티티처럼 시퀀스에서 받는 대신 직접 매김 (삽입 속도는 측정 대상이 아님)
+    private void seed(String userId, int period, int count, long seed) throws SQLException {
+        SplittableRandom random = new SplittableRandom(SyntheticCorpus.DEFAULT_SEED + seed);
+        int year = period / 100;
+        int month = period % 100;
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "insert into transaction (id, user_id, month, period_ym, datetime, amount, merchant, payment_method, category) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                ps.setLong(1, ++nextId);
+                ps.setString(2, userId);
+                ps.setString(3, String.format("%d-%02d", year, month));
+                ps.setInt(4, period);
+                ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.of(year, month, 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60))));
+                ps.setInt(6, SyntheticCorpus.amount(random));
+                ps.setString(7, SyntheticCorpus.pick(random, SyntheticCorpus.MERCHANTS));
+                ps.setString(8, SyntheticCorpus.pick(random, SyntheticCorpus.PAYMENT_NAMES));
+                ps.setString(9, SyntheticCorpus.pick(random, SyntheticCorpus.CATEGORIES));
+                ps.addBatch();
+                if (i % 5000 == 4999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    // 엔티티 로딩 비용을 흉내 내기 위한 행 객체
+    private record Row(long id, String userId, String month, int period, Timestamp datetime, int amount,
+                       String merchant, String paymentMethod, String category) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.mm.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mm.backend.service.LlmResponseConverter;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * GPT 응답(JSON) → TransactionRequest 변환 처리량 (AiParserService가 쓰는 LlmResponseConverter).
+ * 10건 중 1건은 JSON이 아닌 응답.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonConversionBenchmark {
+
+    private LlmResponseConverter converter;
+    private List<String> texts;
+    private List<String> responses;
+    private int next;
+
+    @Setup
+    public void setup() {
+        converter = new LlmResponseConverter(new ObjectMapper(), ObservationRegistry.NOOP);
+        texts = SyntheticCorpus.texts(1000, SyntheticCorpus.DEFAULT_SEED);
+        responses = SyntheticCorpus.llmResponses(1000, SyntheticCorpus.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    public TransactionRequest convertJsonToTransaction() {
+        int i = next;
+        next = (next + 1) % responses.size();
+        return converter.convert(texts.get(i), responses.get(i));
+    }
+}
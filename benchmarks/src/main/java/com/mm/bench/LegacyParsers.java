@@ -0,0 +1,137 @@
+package com.mm.bench;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+/**
+ * RuleParser 도입 전의 규칙 파서 세 벌 (비교 기준, 동작 그대로 옮김).
+ * - 호출마다 금액 정규식을 다시 컴파일하고 String.contains를 줄줄이 호출
+ */
+final class LegacyParsers {
+
+    private LegacyParsers() {
+    }
+
+    // AiParserService.ruleBasedParse
+    static TransactionRequest aiRuleBasedParse(String rawText) {
+        TransactionRequest tr = new TransactionRequest();
+        tr.setRawText(rawText);
+        tr.setDatetime(LocalDateTime.now());
+        tr.setMonth(YearMonth.now().toString());
+
+        Pattern p = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원");
+        Matcher m = p.matcher(rawText);
+        if (m.find()) {
+            try {
+                tr.setAmount(Integer.parseInt(m.group(1).replace(",", "")));
+            } catch (NumberFormatException ignore) {}
+        }
+
+        String merchant = "Unknown";
+        if (rawText.contains("스타벅스")) merchant = "스타벅스";
+        else if (rawText.contains("배달의민족")) merchant = "배달의민족";
+        else if (rawText.contains("요기요")) merchant = "요기요";
+        else if (rawText.contains("CU") || rawText.contains("GS25")) merchant = "편의점";
+        tr.setMerchant(merchant);
+
+        String pm = "Unknown";
+        if (rawText.contains("카카오페이")) pm = "KakaoPay";
+        else if (rawText.contains("네이버페이")) pm = "NaverPay";
+        else if (rawText.contains("삼성페이")) pm = "SamsungPay";
+        else if (rawText.contains("토스")) pm = "TossPay";
+        else if (rawText.contains("카드")) pm = "Card";
+        tr.setPaymentMethod(pm);
+
+        String base = rawText;
+        String category = "기타";
+        if (base.contains("스타벅스") || base.contains("커피") || base.contains("카페")) {
+            category = "카페/간식";
+        } else if (base.contains("편의점") || base.contains("마트") || base.contains("식품")) {
+            category = "식비/장보기";
+        } else if (base.contains("택시") || base.contains("버스") || base.contains("지하철")) {
+            category = "교통";
+        } else if (base.contains("배달") || base.contains("배달의민족") || base.contains("요기요")) {
+            category = "배달/외식";
+        }
+        tr.setCategory(category);
+        return tr;
+    }
+
+    // OcrService.analyzeText
+    static List<TransactionRequest> ocrServiceAnalyzeText(String rawText) {
+        List<TransactionRequest> list = new ArrayList<>();
+        TransactionRequest req = new TransactionRequest();
+        req.setRawText(rawText);
+        req.setMonth(YearMonth.now().toString());
+        req.setDatetime(LocalDateTime.now());
+
+        Matcher m = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원").matcher(rawText);
+        req.setAmount(m.find() ? Integer.parseInt(m.group(1).replace(",", "")) : null);
+
+        String merchant = "Unknown";
+        for (String token : rawText.replaceAll("\\[[^]]+\\]", "").split("\\s+")) {
+            if (token.matches(".*\\d.*") || token.contains("결제")) continue;
+            merchant = token;
+            break;
+        }
+        req.setMerchant(merchant);
+
+        String pm = "Unknown";
+        if (rawText.contains("카카오")) pm = "KakaoPay";
+        else if (rawText.contains("네이버")) pm = "NaverPay";
+        else if (rawText.contains("카드")) pm = "Card";
+        req.setPaymentMethod(pm);
+
+        req.setCategory((merchant + " " + rawText).contains("커피") ? "카페" : "기타");
+        list.add(req);
+        return list;
+    }
+
+    // OcrController.analyzeTextLocally
+    static List<TransactionRequest> controllerAnalyzeTextLocally(String rawText) {
+        List<TransactionRequest> list = new ArrayList<>();
+        TransactionRequest req = new TransactionRequest();
+        req.setRawText(rawText);
+        req.setMonth(YearMonth.now().toString());
+        req.setDatetime(LocalDateTime.now());
+
+        Matcher m = Pattern.compile("(\\d{1,3}(?:,\\d{3})*|\\d+)\\s*원").matcher(rawText);
+        req.setAmount(m.find() ? Integer.parseInt(m.group(1).replace(",", "")) : null);
+
+        String merchant = "Unknown";
+        String cleaned = rawText.replaceAll("\\[[^]]+\\]", "").trim();
+        int idx = cleaned.indexOf("원");
+        if (idx > 0) cleaned = cleaned.substring(0, idx);
+        for (String token : cleaned.split("\\s+")) {
+            if (token.contains("카카오") || token.contains("네이버") || token.contains("결제") || token.matches(".*\\d.*"))
+                continue;
+            merchant = token;
+            break;
+        }
+        req.setMerchant(merchant);
+
+        String pm = "Unknown";
+        if (rawText.contains("카카오페이")) pm = "KakaoPay";
+        else if (rawText.contains("네이버페이")) pm = "NaverPay";
+        else if (rawText.contains("삼성페이")) pm = "SamsungPay";
+        else if (rawText.contains("카드")) pm = "Card";
+        req.setPaymentMethod(pm);
+
+        String base = merchant + " " + rawText;
+        String category = "기타";
+        if (base.contains("스타벅스") || base.contains("커피") || base.contains("카페")) category = "카페/간식";
+        else if (base.contains("편의점") || base.contains("마트") || base.contains("식품")) category = "식비/장보기";
+        else if (base.contains("택시") || base.contains("버스") || base.contains("지하철")) category = "교통";
+        else if (base.contains("배달") || base.contains("요기요") || base.contains("배달의민족")) category = "배달/외식";
+        req.setCategory(category);
+
+        list.add(req);
+        return list;
+    }
+}
@@ -0,0 +1,124 @@
+package com.mm.bench;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mm.backend.service.OcrImageDecoder;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * OCR 전처리 (Tesseract 호출 전 단계): PNG 디코딩 + 흑백/축소.
+ * 휴대폰 캡처 크기의 이미지에 합성 영수증 텍스트를 그려서 사용.
+ * 비교 기준: OcrImageDecoder 도입 전 경로 (임시 파일에 쓰고 ImageIO.read로 다시 읽은 뒤 삭제).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OcrPreprocessBenchmark {
+
+    @Param({"1080x2400", "1440x3200"})
+    String size;
+
+    private OcrImageDecoder decoder;
+    private BufferedImage image;
+    private byte[] png;
+
+    @Setup
+    public void setup() throws IOException {
+        String[] wh = size.split("x");
+        int width = Integer.parseInt(wh[0]);
+        int height = Integer.parseInt(wh[1]);
+
+        decoder = new OcrImageDecoder(ObservationRegistry.NOOP, 50L * 1024 * 1024, 100_000_000L, 1600);
+        image = render(width, height, SyntheticCorpus.texts(40, SyntheticCorpus.DEFAULT_SEED));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        png = out.toByteArray();
+    }
+
+    // 디코딩 + 흑백/축소 (업로드 → OCR 입력)
+    @Benchmark
+    public BufferedImage decodePng() throws IOException {
+        return decoder.decode(png);
+    }
+
+    // 도입 전: 임시 파일 왕복, 축소 없음 (그대로 Tesseract 입력)
+    @Benchmark
+    public BufferedImage legacyTempFileRead() throws IOException {
+        return readViaTempFile();
+    }
+
+    // 임시 파일 왕복 + 같은 흑백/축소 (decodePng와 디스크 왕복만 다름)
+    @Benchmark
+    public BufferedImage tempFileDecodePng() throws IOException {
+        return OcrImageDecoder.toOcrImage(readViaTempFile(), 1600);
+    }
+
+    // 흑백/축소만
+    @Benchmark
+    public BufferedImage toOcrImage() {
+        return OcrImageDecoder.toOcrImage(image, 1600);
+    }
+
+    private BufferedImage readViaTempFile() throws IOException {
+        Path temp = Files.createTempFile("ocr-", ".png");
+        try {
+            Files.write(temp, png);
+            BufferedImage img = ImageIO.read(temp.toFile());
+            if (img == null) throw new IOException("이미지를 읽을 수 없음");
+            return img;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static BufferedImage render(int width, int height, List<String> texts) {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setColor(Color.BLACK);
+            g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, width / 30));
+            int lineHeight = width / 22;
+            int y = lineHeight;
+            for (String text : texts) {
+                for (String line : text.split("\n")) {
+                    if (y > height) return img;
+                    g.drawString(line, width / 20, y);
+                    y += lineHeight;
+                }
+            }
+            return img;
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mm.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.mm.backend.service.RuleParser;
+import com.mm.backend.service.TransactionService.TransactionRequest;
+
+/**
+ * 규칙 기반 파싱 처리량: RuleParser vs 도입 전 contains() 체인 (LegacyParsers).
+ * AiParserService.ruleBasedParse는 RuleParser.parse에, OcrService.analyzeText / OcrController.analyzeTextLocally는
+ * RuleParser.parseAll에 위임하므로 그 두 메서드를 예전 세 경로와 같은 입력으로 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleParsingBenchmark {
+
+    @Param({"1000"})
+    int corpusSize;
+
+    private RuleParser ruleParser;
+    private List<String> corpus;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        ruleParser = new RuleParser(new DefaultResourceLoader(), "classpath:parser-rules.json");
+        corpus = SyntheticCorpus.texts(corpusSize, SyntheticCorpus.DEFAULT_SEED);
+    }
+
+    private String nextText() {
+        String text = corpus.get(next);
+        next = (next + 1) % corpus.size();
+        return text;
+    }
+
+    // ruleBasedParse
+    @Benchmark
+    public TransactionRequest ruleParse() {
+        return ruleParser.parse(nextText());
+    }
+
+    // OcrService.analyzeText / OcrController.analyzeTextLocally
+    @Benchmark
+    public List<TransactionRequest> ruleParseAll() {
+        return ruleParser.parseAll(nextText());
+    }
+
+    // ---- 비교 기준: RuleParser 도입 전 ----
+
+    @Benchmark
+    public TransactionRequest legacyAiRuleBasedParse() {
+        return LegacyParsers.aiRuleBasedParse(nextText());
+    }
+
+    @Benchmark
+    public List<TransactionRequest> legacyOcrServiceAnalyzeText() {
+        return LegacyParsers.ocrServiceAnalyzeText(nextText());
+    }
+
+    @Benchmark
+    public List<TransactionRequest> legacyAnalyzeTextLocally() {
+        return LegacyParsers.controllerAnalyzeTextLocally(nextText());
+    }
+
+    // 금액 정규식만
+    @Benchmark
+    public void extractAmount(Blackhole bh) {
+        bh.consume(ruleParser.extractAmount(nextText()));
+    }
+}
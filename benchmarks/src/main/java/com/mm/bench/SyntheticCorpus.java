@@ -0,0 +1,127 @@
+package com.mm.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 가짜 결제 문자 / 알림 / 영수증 텍스트.
+ * 같은 seed면 항상 같은 목록이 나오므로 실행 간 결과를 비교할 수 있다.
+ *
+ *   java -cp benchmarks.jar com.mm.bench.SyntheticCorpus 10000 corpus.txt
+ *   (한 줄에 한 건, 영수증의 줄바꿈은 \n 문자열로 저장)
+ */
+public final class SyntheticCorpus {
+
+    public static final long DEFAULT_SEED = 20251101L;
+
+    // 사전에 있는 가맹점 + 없는 가맹점 (guessMerchantToken 경로)
+    static final String[] MERCHANTS = {
+            "스타벅스", "STARBUCKS 강남점", "배달의민족", "요기요", "쿠팡이츠", "GS25", "CU", "세븐일레븐", "이마트24",
+            "김밥천국", "올리브영", "다이소", "메가커피", "이디야커피", "교보문고", "롯데시네마", "카카오T 택시", "홈플러스"
+    };
+    static final String[] PAYMENTS = {"카카오페이", "네이버페이", "삼성페이", "토스", "신한카드", "현대카드"};
+    static final String[] CATEGORIES = {"카페/간식", "식비/장보기", "교통", "배달/외식", "쇼핑", "기타"};
+    static final String[] PAYMENT_NAMES = {"KakaoPay", "NaverPay", "SamsungPay", "TossPay", "Card"};
+
+    private SyntheticCorpus() {
+    }
+
+    /** 결제 문자 / 알림 / 영수증 텍스트 count건 */
+    public static List<String> texts(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> texts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            texts.add(text(random));
+        }
+        return texts;
+    }
+
+    /** GPT 응답 형태의 JSON (10건 중 1건은 JSON이 아닌 응답) */
+    public static List<String> llmResponses(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(10) == 0) {
+                responses.add("죄송합니다. 결제 정보를 찾을 수 없습니다.");
+                continue;
+            }
+            LocalDateTime at = datetime(random);
+            responses.add("{\"amount\":" + amount(random)
+                    + ",\"merchant\":\"" + pick(random, MERCHANTS)
+                    + "\",\"paymentMethod\":\"" + pick(random, PAYMENT_NAMES)
+                    + "\",\"category\":\"" + pick(random, CATEGORIES)
+                    + "\",\"month\":\"" + at.toLocalDate().toString().substring(0, 7)
+                    + "\",\"datetime\":\"" + at + "\"}");
+        }
+        return responses;
+    }
+
+    static String text(SplittableRandom random) {
+        String merchant = pick(random, MERCHANTS);
+        String payment = pick(random, PAYMENTS);
+        String amount = String.format("%,d", amount(random));
+        LocalDateTime at = datetime(random);
+        String time = String.format("%02d/%02d %02d:%02d", at.getMonthValue(), at.getDayOfMonth(), at.getHour(), at.getMinute());
+
+        return switch (random.nextInt(5)) {
+            case 0 -> "[" + payment + "] " + merchant + " " + amount + "원 결제 완료";
+            case 1 -> "[Web발신]\n" + payment + " 승인\n홍*동님\n" + amount + "원 일시불\n" + time + " " + merchant + "\n누적 " + String.format("%,d", amount(random) * 10) + "원";
+            case 2 -> payment + " 결제 알림: " + merchant + "에서 " + amount + "원이 결제되었습니다. (" + time + ")";
+            case 3 -> receipt(random, merchant, payment, time);
+            default -> merchant + " " + amount + "원 " + payment + " 결제";
+        };
+    }
+
+    private static String receipt(SplittableRandom random, String merchant, String payment, String time) {
+        StringBuilder sb = new StringBuilder()
+                .append(merchant).append("\n")
+                .append("사업자번호 ").append(100 + random.nextInt(900)).append("-").append(10 + random.nextInt(90)).append("-").append(10000 + random.nextInt(90000)).append("\n")
+                .append("20").append(time).append("\n")
+                .append("----------------------------\n");
+        int items = 1 + random.nextInt(5);
+        int total = 0;
+        for (int i = 0; i < items; i++) {
+            int qty = 1 + random.nextInt(3);
+            int price = (1 + random.nextInt(60)) * 500;
+            total += qty * price;
+            sb.append("상품").append(i + 1).append("  ").append(qty).append("  ").append(String.format("%,d", qty * price)).append("\n");
+        }
+        return sb.append("----------------------------\n")
+                .append("합계 ").append(String.format("%,d", total)).append("원\n")
+                .append(payment).append(" 승인 ").append(String.format("%08d", random.nextInt(100_000_000)))
+                .toString();
+    }
+
+    static int amount(SplittableRandom random) {
+        return (1 + random.nextInt(2000)) * 100;
+    }
+
+    static LocalDateTime datetime(SplittableRandom random) {
+        return LocalDateTime.of(2025, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+    }
+
+    static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Path out = Path.of(args.length > 1 ? args[1] : "corpus.txt");
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            for (String text : texts(count, seed)) {
+                w.write(text.replace("\n", "\\n"));
+                w.write('\n');
+            }
+        }
+        System.out.println(count + " texts → " + out.toAbsolutePath());
+    }
+}